@@ -0,0 +1,60 @@
+package com.example.benchmarks;
+
+import com.example.contracts.ContractValidator;
+import com.example.contracts.ContractValidator.Contract;
+import com.example.mock.UserCodec;
+import com.example.models.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading a user response with and without its JSON Schema contract check,
+ * from several threads sharing the compiled schemas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ContractValidationBenchmark {
+
+    private final UserCodec codec = UserCodec.shared();
+    private final ContractValidator validating = new ContractValidator(true);
+    private final ContractValidator parseOnly = new ContractValidator(false);
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = codec.encode(User.builder()
+                .id("3f1c2a9e-1b7d-4c55-9a0e-6d2f8b1e4c70")
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@email.com")
+                .age(30)
+                .build());
+    }
+
+    @Benchmark
+    public User readWithContract() throws Exception {
+        return codec.reader().readValue(validating.check(Contract.USER, body));
+    }
+
+    @Benchmark
+    public User readWithoutContract() throws Exception {
+        return codec.reader().readValue(parseOnly.check(Contract.USER, body));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.benchmarks;
+
+import com.example.mock.FixtureStore;
+import com.example.mock.FixtureWriter;
+import com.example.mock.SyntheticUsers;
+import com.example.mock.UserCodec;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping and indexing a fixture file of recorded user reads, and of finding
+ * and building one replayed response. Run with {@code -prof gc} to confirm that loading
+ * allocates next to nothing on the heap whatever the fixture count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixtureStoreBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int fixtures;
+
+    private Path file;
+    private FixtureStore store;
+    private String[] urls;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void writeFixtures() throws IOException {
+        file = Files.createTempFile("fixture-benchmark", ".bin");
+        UserCodec codec = UserCodec.shared();
+        Map<String, String> headers = Map.of("Content-Type", "application/json");
+        try (FixtureWriter writer = new FixtureWriter(file)) {
+            for (int i = 0; i < fixtures; i++) {
+                writer.append("GET", "/users/" + SyntheticUsers.id(i), null, 200, headers,
+                        codec.encode(SyntheticUsers.user(i)));
+            }
+        }
+        store = FixtureStore.open(file);
+        urls = new String[1024];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = "/users/" + SyntheticUsers.id(random.nextInt(fixtures));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFixtures() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public FixtureStore open() throws IOException {
+        return FixtureStore.open(file);
+    }
+
+    @Benchmark
+    public ResponseDefinition replayOne() {
+        String url = urls[random.nextInt(urls.length)];
+        return store.response(store.find("GET", url, null));
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.benchmarks;
+
+import com.example.mock.UserStore;
+import com.example.mock.UserStoreTransformer;
+import com.example.models.User;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.direct.DirectCallHttpServer;
+import com.github.tomakehurst.wiremock.direct.DirectCallHttpServerFactory;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * WireMock request matching as the number of registered mappings grows. Requests are
+ * served in-process through {@link DirectCallHttpServer}, so no socket time is included.
+ * The per-user stub style scans every mapping; the store-backed style keeps one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestMatchingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int users;
+
+    private WireMockServer perUserStubs;
+    private DirectCallHttpServer perUserStubsServer;
+    private WireMockServer storeBacked;
+    private DirectCallHttpServer storeBackedServer;
+    private LoggedRequest oldestUserRequest;
+    private LoggedRequest unknownUserRequest;
+
+    @Setup
+    public void setUp() {
+        DirectCallHttpServerFactory perUserFactory = new DirectCallHttpServerFactory();
+        // No request journal: it is unbounded by default and would be timed along with matching
+        perUserStubs = new WireMockServer(options().httpServerFactory(perUserFactory).disableRequestJournal());
+        perUserStubs.start();
+        perUserStubsServer = perUserFactory.getHttpServer();
+
+        UserStore userStore = new UserStore();
+        DirectCallHttpServerFactory storeFactory = new DirectCallHttpServerFactory();
+        storeBacked = new WireMockServer(options()
+                .httpServerFactory(storeFactory)
+                .disableRequestJournal()
+                .extensions(new UserStoreTransformer(userStore)));
+        storeBacked.start();
+        storeBackedServer = storeFactory.getHttpServer();
+        storeBacked.stubFor(get(urlPathMatching("/users/[^/]+"))
+                .willReturn(aResponse().withTransformers(UserStoreTransformer.NAME)));
+
+        for (int i = 0; i < users; i++) {
+            String id = String.valueOf(i);
+            perUserStubs.stubFor(get(urlEqualTo("/users/" + id))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("{\"id\":\"" + id + "\",\"firstName\":\"John\"}")));
+            userStore.save(User.builder().id(id).firstName("John").lastName("Doe")
+                    .email("john@example.com").age(30).build());
+        }
+
+        // Newest stubs are matched first, so the oldest user is the worst case for a scan
+        oldestUserRequest = request("/users/0");
+        unknownUserRequest = request("/users/unknown");
+    }
+
+    @TearDown
+    public void tearDown() {
+        perUserStubs.stop();
+        storeBacked.stop();
+    }
+
+    @Benchmark
+    public Response perUserStubsHit() {
+        return perUserStubsServer.stubRequest(oldestUserRequest);
+    }
+
+    @Benchmark
+    public Response perUserStubsMiss() {
+        return perUserStubsServer.stubRequest(unknownUserRequest);
+    }
+
+    @Benchmark
+    public Response storeBackedHit() {
+        return storeBackedServer.stubRequest(oldestUserRequest);
+    }
+
+    @Benchmark
+    public Response storeBackedMiss() {
+        return storeBackedServer.stubRequest(unknownUserRequest);
+    }
+
+    private static LoggedRequest request(String url) {
+        return new LoggedRequest(url, "http://localhost" + url, RequestMethod.GET, "127.0.0.1",
+                new HttpHeaders(), Collections.emptyMap(), false, new Date(), new byte[0],
+                Collections.emptyList(), "HTTP/1.1");
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.benchmarks;
+
+import com.example.mock.UserCodec;
+import com.example.models.User;
+import io.restassured.path.json.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of checking the four user fields in a response body: one GPath evaluation per
+ * field, as the step definitions used to do, against a single decode into {@link User}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseAssertionBenchmark {
+
+    private final UserCodec codec = UserCodec.shared();
+
+    private byte[] body;
+    private String bodyText;
+
+    @Setup
+    public void setUp() {
+        body = codec.encode(User.builder()
+                .id("3f1c2a9e-1b7d-4c55-9a0e-6d2f8b1e4c70")
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@email.com")
+                .age(30)
+                .build());
+        bodyText = new String(body, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public boolean gpathPerField() {
+        // REST Assured re-parses the body for every response.jsonPath() / body(path, matcher) call
+        return "John".equals(new JsonPath(bodyText).getString("firstName"))
+                & "Doe".equals(new JsonPath(bodyText).getString("lastName"))
+                & "john.doe@email.com".equals(new JsonPath(bodyText).getString("email"))
+                & new JsonPath(bodyText).getInt("age") == 30;
+    }
+
+    @Benchmark
+    public boolean singleDecode() throws Exception {
+        User user = codec.decode(body);
+        return "John".equals(user.getFirstName())
+                & "Doe".equals(user.getLastName())
+                & "john.doe@email.com".equals(user.getEmail())
+                & user.getAge() == 30;
+    }
+}
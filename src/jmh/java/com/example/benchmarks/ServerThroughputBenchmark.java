@@ -0,0 +1,100 @@
+package com.example.benchmarks;
+
+import com.example.config.HttpClientConfiguration;
+import com.example.config.ServerProfile;
+import com.example.config.TestConfiguration;
+import com.example.mock.SyntheticUsers;
+import com.example.mock.UserCodec;
+import com.example.models.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests per second the mock sustains on the user endpoints under each
+ * {@link ServerProfile}, driven by many client threads over pooled keep-alive
+ * connections. {@code performanceProfile} adds the mock's injected latency, which is
+ * where asynchronous responses free container threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class ServerThroughputBenchmark {
+
+    private static final int SEEDED_USERS = 1000;
+
+    @Param({"default", "high-throughput"})
+    public String serverProfile;
+
+    @Param({"fast", "p99-spiky"})
+    public String performanceProfile;
+
+    private final HttpClient httpClient = HttpClientConfiguration.jdk();
+    private final UserCodec codec = UserCodec.shared();
+    private TestConfiguration testConfig;
+    private HttpRequest read;
+    private HttpRequest create;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        testConfig = new TestConfiguration(ServerProfile.named(serverProfile));
+        testConfig.startWireMockServer();
+        testConfig.resetStubs();
+        testConfig.usePerformanceProfile(performanceProfile);
+        User newUser = SyntheticUsers.user(SEEDED_USERS);
+        newUser.setId(null);
+        read = request("/users/" + SyntheticUsers.id(SEEDED_USERS / 2)).GET().build();
+        create = request("/users").POST(HttpRequest.BodyPublishers.ofByteArray(codec.encode(newUser))).build();
+    }
+
+    // createUser adds a user per call; start every iteration from the same seeded store
+    @Setup(Level.Iteration)
+    public void seedUsers() {
+        testConfig.getUserStore().clear();
+        for (int i = 0; i < SEEDED_USERS; i++) {
+            testConfig.seedUser(SyntheticUsers.user(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        testConfig.stopWireMockServer();
+    }
+
+    @Benchmark
+    public int getUser() throws Exception {
+        return httpClient.send(read, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+    }
+
+    @Benchmark
+    public int createUser() throws Exception {
+        return httpClient.send(create, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(testConfig.getBaseUrl() + path))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+}
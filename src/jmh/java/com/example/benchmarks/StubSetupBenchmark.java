@@ -0,0 +1,75 @@
+package com.example.benchmarks;
+
+import com.example.config.TestConfiguration;
+import com.example.models.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the per-scenario and per-step stub setup calls in {@link TestConfiguration},
+ * and of building a mock with its classpath mappings. Stubs are reset between
+ * iterations so the mapping list stays in the range a scenario sees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StubSetupBenchmark {
+
+    private TestConfiguration testConfig;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        testConfig = new TestConfiguration();
+        testConfig.startWireMockServer();
+        user = User.builder()
+                .id("123")
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@example.com")
+                .age(30)
+                .build();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStubs() {
+        testConfig.resetStubs();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        testConfig.stopWireMockServer();
+    }
+
+    @Benchmark
+    public void beginScenario() {
+        testConfig.beginScenario(Collections.emptyList());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public TestConfiguration buildMock() {
+        return new TestConfiguration();
+    }
+
+    @Benchmark
+    public void seedUser() {
+        testConfig.seedUser(user);
+    }
+}
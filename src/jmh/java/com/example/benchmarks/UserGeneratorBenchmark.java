@@ -0,0 +1,44 @@
+package com.example.benchmarks;
+
+import com.example.mock.UserGenerator;
+import com.example.mock.UserGenerator.GeneratedUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of producing one generated user, and of walking a whole population through the
+ * lazy stream. Run with {@code -prof gc} to see the bytes allocated per user.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserGeneratorBenchmark {
+
+    private static final int POPULATION = 100_000;
+
+    private final UserGenerator generator = new UserGenerator(42L);
+    private long index;
+
+    @Benchmark
+    public GeneratedUser generateOne() {
+        return generator.generate(index++);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long streamPopulation() {
+        return generator.stream(POPULATION).filter(GeneratedUser::isValid).count();
+    }
+}
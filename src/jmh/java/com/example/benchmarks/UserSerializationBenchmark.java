@@ -0,0 +1,73 @@
+package com.example.benchmarks;
+
+import com.example.models.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private User fullUser;
+    private User sparseUser;
+    private String fullJson;
+    private String jsonWithUnknownFields;
+
+    @Setup
+    public void setUp() throws Exception {
+        fullUser = User.builder()
+                .id("3f1c2a9e-1b7d-4c55-9a0e-6d2f8b1e4c70")
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@email.com")
+                .age(30)
+                .build();
+        // Null id and email are dropped by @JsonInclude(NON_NULL)
+        sparseUser = User.builder()
+                .firstName("Jane")
+                .lastName("Smith")
+                .age(25)
+                .build();
+        fullJson = objectMapper.writeValueAsString(fullUser);
+        // Extra properties are skipped by @JsonIgnoreProperties(ignoreUnknown = true)
+        jsonWithUnknownFields = fullJson.substring(0, fullJson.length() - 1)
+                + ",\"createdAt\":\"2024-01-01T00:00:00Z\",\"roles\":[\"admin\",\"user\"]}";
+    }
+
+    @Benchmark
+    public String serializeFullUser() throws Exception {
+        return objectMapper.writeValueAsString(fullUser);
+    }
+
+    @Benchmark
+    public String serializeSparseUser() throws Exception {
+        return objectMapper.writeValueAsString(sparseUser);
+    }
+
+    @Benchmark
+    public User deserializeUser() throws Exception {
+        return objectMapper.readValue(fullJson, User.class);
+    }
+
+    @Benchmark
+    public User deserializeUserWithUnknownFields() throws Exception {
+        return objectMapper.readValue(jsonWithUnknownFields, User.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.benchmarks;
+
+import com.example.models.User;
+import com.example.models.UserValidator;
+import com.example.models.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserValidatorBenchmark {
+
+    private final UserValidator validator = UserValidator.getInstance();
+
+    private final User validUser = User.builder()
+            .firstName("Emma")
+            .lastName("Wilson")
+            .email("emma.w@example.co.uk")
+            .age(22)
+            .build();
+
+    private final User invalidUser = User.builder()
+            .firstName("")
+            .lastName(" ")
+            .email("invalid-email")
+            .age(200)
+            .build();
+
+    @Benchmark
+    public ValidationResult validUser() {
+        return validator.validate(validUser);
+    }
+
+    @Benchmark
+    public ValidationResult invalidUser() {
+        return validator.validate(invalidUser);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ValidationResult validUserContended() {
+        return validator.validate(validUser);
+    }
+}
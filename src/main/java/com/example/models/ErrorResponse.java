@@ -0,0 +1,52 @@
+package com.example.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Collections;
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ErrorResponse {
+    private String error;
+    private String message;
+    private List<String> violations;
+
+    public ErrorResponse() {}
+
+    // Getters and Setters
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public List<String> getViolations() {
+        return violations == null ? Collections.emptyList() : violations;
+    }
+
+    public void setViolations(List<String> violations) {
+        this.violations = violations;
+    }
+
+    @Override
+    public String toString() {
+        return "ErrorResponse{" +
+                "error='" + error + '\'' +
+                ", message='" + message + '\'' +
+                ", violations=" + violations +
+                '}';
+    }
+}
@@ -10,7 +10,7 @@ public class User {
     private String firstName;
     private String lastName;
     private String email;
-    private int age;
+    private Integer age;
 
     public User() {}
 
@@ -31,7 +31,7 @@ public class User {
         private String firstName;
         private String lastName;
         private String email;
-        private int age;
+        private Integer age;
 
         public Builder id(String id) {
             this.id = id;
@@ -53,7 +53,7 @@ public class User {
             return this;
         }
 
-        public Builder age(int age) {
+        public Builder age(Integer age) {
             this.age = age;
             return this;
         }
@@ -96,11 +96,11 @@ public class User {
         this.email = email;
     }
 
-    public int getAge() {
+    public Integer getAge() {
         return age;
     }
 
-    public void setAge(int age) {
+    public void setAge(Integer age) {
         this.age = age;
     }
 
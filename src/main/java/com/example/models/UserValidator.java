@@ -0,0 +1,94 @@
+package com.example.models;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Validates {@link User} payloads against the user service rules: first and last name
+ * required, a syntactically valid email and an age within {@link #MIN_AGE}..{@link #MAX_AGE}.
+ * An absent age is reported as {@link Violation#AGE_REQUIRED} on every write path.
+ *
+ * <p>Every rule is checked so callers get all violations at once. Results are shared,
+ * precomputed instances and the email matcher is reused per thread, so validation does
+ * not allocate, box or throw.
+ */
+public final class UserValidator {
+
+    public static final int MIN_AGE = 0;
+    public static final int MAX_AGE = 150;
+
+    private static final Pattern EMAIL = Pattern.compile(
+            "[A-Za-z0-9!#$%&'*+/=?^_`{|}~-]+(?:\\.[A-Za-z0-9!#$%&'*+/=?^_`{|}~-]+)*"
+                    + "@(?:[A-Za-z0-9](?:[A-Za-z0-9-]*[A-Za-z0-9])?\\.)+[A-Za-z]{2,}");
+    private static final ThreadLocal<Matcher> EMAIL_MATCHER = ThreadLocal.withInitial(() -> EMAIL.matcher(""));
+
+    private static final UserValidator INSTANCE = new UserValidator();
+
+    private UserValidator() {
+    }
+
+    public static UserValidator getInstance() {
+        return INSTANCE;
+    }
+
+    public ValidationResult validate(User user) {
+        return validate(user.getFirstName(), user.getLastName(), user.getEmail(), user.getAge());
+    }
+
+    public ValidationResult validate(String firstName, String lastName, String email, Integer age) {
+        int violations = 0;
+        if (isBlank(firstName)) {
+            violations |= Violation.FIRST_NAME_REQUIRED.mask();
+        }
+        if (isBlank(lastName)) {
+            violations |= Violation.LAST_NAME_REQUIRED.mask();
+        }
+        if (!isValidEmail(email)) {
+            violations |= Violation.INVALID_EMAIL.mask();
+        }
+        if (age == null) {
+            violations |= Violation.AGE_REQUIRED.mask();
+        } else if (age < MIN_AGE || age > MAX_AGE) {
+            violations |= Violation.INVALID_AGE.mask();
+        }
+        return ValidationResult.of(violations);
+    }
+
+    public boolean isValidEmail(String email) {
+        return email != null && EMAIL_MATCHER.get().reset(email).matches();
+    }
+
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public enum Violation {
+        FIRST_NAME_REQUIRED("First name required"),
+        LAST_NAME_REQUIRED("Last name required"),
+        INVALID_EMAIL("Invalid email format"),
+        INVALID_AGE("Invalid age"),
+        AGE_REQUIRED("Age required");
+
+        private final String message;
+
+        Violation(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        int mask() {
+            return 1 << ordinal();
+        }
+    }
+}
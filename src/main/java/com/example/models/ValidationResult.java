@@ -0,0 +1,58 @@
+package com.example.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Outcome of {@link UserValidator#validate}. One immutable instance exists per
+ * combination of violations, so results can be compared with {@code ==}.
+ */
+public final class ValidationResult {
+
+    private static final ValidationResult[] RESULTS = new ValidationResult[1 << UserValidator.Violation.values().length];
+
+    static {
+        for (int mask = 0; mask < RESULTS.length; mask++) {
+            RESULTS[mask] = new ValidationResult(mask);
+        }
+    }
+
+    public static final ValidationResult VALID = RESULTS[0];
+
+    private final List<UserValidator.Violation> violations;
+    private final String message;
+
+    private ValidationResult(int mask) {
+        List<UserValidator.Violation> matched = new ArrayList<>();
+        StringJoiner joined = new StringJoiner("; ");
+        for (UserValidator.Violation violation : UserValidator.Violation.values()) {
+            if ((mask & violation.mask()) != 0) {
+                matched.add(violation);
+                joined.add(violation.getMessage());
+            }
+        }
+        this.violations = Collections.unmodifiableList(matched);
+        this.message = joined.toString();
+    }
+
+    static ValidationResult of(int mask) {
+        return RESULTS[mask];
+    }
+
+    public boolean isValid() {
+        return this == VALID;
+    }
+
+    public List<UserValidator.Violation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * @return all violation messages joined with "; ", or an empty string when valid
+     */
+    public String getMessage() {
+        return message;
+    }
+}
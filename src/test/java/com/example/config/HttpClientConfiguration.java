@@ -0,0 +1,72 @@
+package com.example.config;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Shared, pooled HTTP clients for the step definitions. Connections to the mock are
+ * kept alive and reused across steps and scenarios instead of being opened per call.
+ *
+ * <p>Tuned with {@code -Dmock.http.maxConnectionsPerRoute} (default 50),
+ * {@code -Dmock.http.maxConnections} (default 200) and {@code -Dmock.http.version}
+ * ({@code HTTP_1_1}, the default, or {@code HTTP_2} for h2c upgrade attempts with the JDK client).
+ */
+public final class HttpClientConfiguration {
+
+    private static final int MAX_CONNECTIONS_PER_ROUTE = Integer.getInteger("mock.http.maxConnectionsPerRoute", 50);
+    private static final int MAX_CONNECTIONS = Integer.getInteger("mock.http.maxConnections", 200);
+    private static final HttpClient.Version VERSION =
+            HttpClient.Version.valueOf(System.getProperty("mock.http.version", "HTTP_1_1"));
+
+    // REST Assured writes per-request settings into the reused client's HttpParams, so a
+    // reused instance must not be shared between the parallel scenario threads
+    private static final ThreadLocal<RestAssuredConfig> REST_ASSURED = ThreadLocal.withInitial(() -> RestAssuredConfig.config()
+            .httpClient(HttpClientConfig.httpClientConfig()
+                    .reuseHttpClientInstance()
+                    .httpClientFactory(HttpClientConfiguration::pooledApacheClient)));
+
+    private static final HttpClient JDK = newJdkClient();
+
+    private HttpClientConfiguration() {
+    }
+
+    /**
+     * REST Assured configuration backed by a pooled client owned by the calling worker
+     * thread; pass to {@code given().config(...)}.
+     */
+    public static RestAssuredConfig restAssured() {
+        return REST_ASSURED.get();
+    }
+
+    /**
+     * The shared {@link HttpClient}. It pools keep-alive connections per host and port.
+     */
+    public static HttpClient jdk() {
+        return JDK;
+    }
+
+    /**
+     * A client with the shared client's settings but its own, empty connection pool, for
+     * steps whose outcome must not depend on connections left open by earlier steps.
+     */
+    public static HttpClient newJdkClient() {
+        return HttpClient.newBuilder()
+                .version(VERSION)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    // REST Assured drives the Apache 4.x AbstractHttpClient API, so the pool is the matching PoolingClientConnectionManager
+    @SuppressWarnings("deprecation")
+    private static DefaultHttpClient pooledApacheClient() {
+        PoolingClientConnectionManager connections = new PoolingClientConnectionManager();
+        connections.setMaxTotal(MAX_CONNECTIONS);
+        connections.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+        return new DefaultHttpClient(connections);
+    }
+}
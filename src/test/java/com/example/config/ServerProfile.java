@@ -0,0 +1,211 @@
+package com.example.config;
+
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named Jetty threading and response settings for the mock server, applied by
+ * {@link TestConfiguration} when a server is built. {@code default} keeps WireMock's own
+ * defaults; {@code high-throughput} sizes the container for many concurrent clients.
+ *
+ * <p>Selected with {@code -Dmock.server.profile}; individual settings can be overridden
+ * with {@code -Dmock.server.containerThreads}, {@code -Dmock.server.acceptors},
+ * {@code -Dmock.server.acceptQueueSize}, {@code -Dmock.server.asyncResponses},
+ * {@code -Dmock.server.asyncResponseThreads} and {@code -Dmock.server.gzip}.
+ */
+public final class ServerProfile {
+
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+    // Jetty picks its own acceptor and queue sizes when these are left unset
+    private static final int JETTY_DEFAULT = -1;
+
+    public static final ServerProfile DEFAULT = builder("default").build();
+
+    public static final ServerProfile HIGH_THROUGHPUT = builder("high-throughput")
+            .containerThreads(Math.max(200, CORES * 16))
+            .acceptors(Math.max(2, CORES / 2))
+            .acceptQueueSize(1024)
+            // Injected delays are scheduled instead of parking a container thread
+            .asyncResponses(Math.max(4, CORES * 2))
+            .gzip(false)
+            .requestJournal(false)
+            .build();
+
+    private static final Map<String, ServerProfile> PROFILES = index(DEFAULT, HIGH_THROUGHPUT);
+
+    private final String name;
+    private final int containerThreads;
+    private final int acceptors;
+    private final int acceptQueueSize;
+    private final boolean asyncResponses;
+    private final int asyncResponseThreads;
+    private final boolean gzip;
+    private final boolean requestJournal;
+
+    private ServerProfile(Builder builder) {
+        this.name = builder.name;
+        this.containerThreads = builder.containerThreads;
+        this.acceptors = builder.acceptors;
+        this.acceptQueueSize = builder.acceptQueueSize;
+        this.asyncResponses = builder.asyncResponses;
+        this.asyncResponseThreads = builder.asyncResponseThreads;
+        this.gzip = builder.gzip;
+        this.requestJournal = builder.requestJournal;
+    }
+
+    public static ServerProfile named(String name) {
+        ServerProfile profile = PROFILES.get(name);
+        if (profile == null) {
+            throw new IllegalArgumentException("Unknown server profile '" + name + "', expected one of " + PROFILES.keySet());
+        }
+        return profile;
+    }
+
+    /**
+     * The profile named by {@code -Dmock.server.profile} (default {@code default}) with any
+     * per-setting overrides applied.
+     */
+    public static ServerProfile fromSystemProperties() {
+        ServerProfile base = named(System.getProperty("mock.server.profile", DEFAULT.name));
+        Builder builder = base.toBuilder();
+        builder.containerThreads(Integer.getInteger("mock.server.containerThreads", base.containerThreads));
+        builder.acceptors(Integer.getInteger("mock.server.acceptors", base.acceptors));
+        builder.acceptQueueSize(Integer.getInteger("mock.server.acceptQueueSize", base.acceptQueueSize));
+        if (Boolean.parseBoolean(System.getProperty("mock.server.asyncResponses", String.valueOf(base.asyncResponses)))) {
+            builder.asyncResponses(Integer.getInteger("mock.server.asyncResponseThreads", base.asyncResponseThreads));
+        } else {
+            builder.syncResponses();
+        }
+        builder.gzip(Boolean.parseBoolean(System.getProperty("mock.server.gzip", String.valueOf(base.gzip))));
+        return builder.build();
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getContainerThreads() {
+        return containerThreads;
+    }
+
+    public boolean isAsyncResponses() {
+        return asyncResponses;
+    }
+
+    /**
+     * Whether this profile keeps WireMock's request journal; when it does, the journal is
+     * bounded by {@code -Dmock.journal.maxEntries}.
+     */
+    public boolean hasRequestJournal() {
+        return requestJournal;
+    }
+
+    void applyTo(WireMockConfiguration options) {
+        options.containerThreads(containerThreads)
+                .asynchronousResponseEnabled(asyncResponses)
+                .asynchronousResponseThreads(asyncResponseThreads)
+                .gzipDisabled(!gzip);
+        if (acceptors != JETTY_DEFAULT) {
+            options.jettyAcceptors(acceptors);
+        }
+        if (acceptQueueSize != JETTY_DEFAULT) {
+            options.jettyAcceptQueueSize(acceptQueueSize);
+        }
+    }
+
+    private Builder toBuilder() {
+        Builder builder = new Builder(name);
+        builder.containerThreads = containerThreads;
+        builder.acceptors = acceptors;
+        builder.acceptQueueSize = acceptQueueSize;
+        builder.asyncResponses = asyncResponses;
+        builder.asyncResponseThreads = asyncResponseThreads;
+        builder.gzip = gzip;
+        builder.requestJournal = requestJournal;
+        return builder;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (containerThreads=%d, acceptors=%s, acceptQueueSize=%s, asyncResponses=%s, gzip=%s, journal=%s)",
+                name, containerThreads, acceptors == JETTY_DEFAULT ? "jetty" : acceptors,
+                acceptQueueSize == JETTY_DEFAULT ? "jetty" : acceptQueueSize,
+                asyncResponses ? asyncResponseThreads + " threads" : "off", gzip ? "on" : "off", requestJournal ? "on" : "off");
+    }
+
+    private static Map<String, ServerProfile> index(ServerProfile... profiles) {
+        Map<String, ServerProfile> byName = new LinkedHashMap<>();
+        Arrays.stream(profiles).forEach(profile -> byName.put(profile.getName(), profile));
+        return Collections.unmodifiableMap(byName);
+    }
+
+    public static class Builder {
+        private final String name;
+        private int containerThreads = WireMockConfiguration.DEFAULT_CONTAINER_THREADS;
+        private int acceptors = JETTY_DEFAULT;
+        private int acceptQueueSize = JETTY_DEFAULT;
+        private boolean asyncResponses;
+        private int asyncResponseThreads = 10;
+        private boolean gzip = true;
+        private boolean requestJournal = true;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder containerThreads(int containerThreads) {
+            this.containerThreads = containerThreads;
+            return this;
+        }
+
+        public Builder acceptors(int acceptors) {
+            this.acceptors = acceptors;
+            return this;
+        }
+
+        public Builder acceptQueueSize(int acceptQueueSize) {
+            this.acceptQueueSize = acceptQueueSize;
+            return this;
+        }
+
+        /**
+         * Serves delayed responses from a scheduler with {@code threads} threads, releasing
+         * the container thread while the delay elapses.
+         */
+        public Builder asyncResponses(int threads) {
+            this.asyncResponses = true;
+            this.asyncResponseThreads = threads;
+            return this;
+        }
+
+        public Builder syncResponses() {
+            this.asyncResponses = false;
+            return this;
+        }
+
+        public Builder gzip(boolean gzip) {
+            this.gzip = gzip;
+            return this;
+        }
+
+        public Builder requestJournal(boolean requestJournal) {
+            this.requestJournal = requestJournal;
+            return this;
+        }
+
+        public ServerProfile build() {
+            if (containerThreads < 1 || asyncResponseThreads < 1) {
+                throw new IllegalArgumentException("Server profile " + name + " needs at least one container and one async response thread");
+            }
+            return new ServerProfile(this);
+        }
+    }
+}
@@ -1,174 +1,361 @@
 package com.example.config;
 
+import com.example.contracts.ContractValidator;
+import com.example.mock.ConnectionStats;
+import com.example.mock.FixtureRecorder;
+import com.example.mock.FixtureReplayTransformer;
+import com.example.mock.FixtureStore;
+import com.example.mock.FixtureWriter;
+import com.example.mock.MockMetrics;
+import com.example.mock.MockMetricsExtension;
+import com.example.mock.PerformanceProfile;
+import com.example.mock.PerformanceProfileTransformer;
+import com.example.mock.UserBatchTransformer;
+import com.example.mock.UserCodec;
+import com.example.mock.UserListingTransformer;
+import com.example.mock.UserStore;
+import com.example.mock.UserStoreTransformer;
 import com.example.models.User;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.timing.RunSummary;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 
-import java.util.Map;
-import java.util.UUID;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
-import static com.github.tomakehurst.wiremock.client.WireMock.delete;
-import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
-import static com.github.tomakehurst.wiremock.client.WireMock.get;
-import static com.github.tomakehurst.wiremock.client.WireMock.post;
-import static com.github.tomakehurst.wiremock.client.WireMock.put;
-import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
-import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.requestMatching;
+import static com.github.tomakehurst.wiremock.common.Metadata.metadata;
 
 public class TestConfiguration {
 
+    private static final ThreadLocal<TestConfiguration> WORKER_CONFIG = new ThreadLocal<>();
+    private static final List<TestConfiguration> ALL_WORKERS = new CopyOnWriteArrayList<>();
+
+    private static final int FIXTURE_REPLAY_PRIORITY = 1;
+    private static final int MAX_LOGGED_RESPONSE_BYTES = 64 * 1024;
+    // Holds mappings/*.json; stubs there carry "static": true metadata and survive resetStubs()
+    private static final String CLASSPATH_MAPPINGS_ROOT = "wiremock";
+    private static final String STATIC_METADATA = "static";
+    public static final String IN_PROCESS_TAG = "@InProcess";
+    private static final int DEFAULT_JOURNAL_ENTRIES = 1000;
+    private static final long DEFAULT_PROFILE_SEED = Long.getLong("mock.profile.seed", 42L);
+    private static final String RECORD_FIXTURES_TO = System.getProperty("mock.fixtures.record");
+    private static final String REPLAY_FIXTURES_FROM = System.getProperty("mock.fixtures.replay");
+    private static FixtureWriter sharedFixtureWriter;
+    private static FixtureStore sharedFixtureStore;
+
+    private final ServerProfile serverProfile;
     private WireMockServer wireMockServer;
-    private ObjectMapper objectMapper;
-    private static final int WIREMOCK_PORT = 8080;
+    private WireMock wireMock;
+    private final UserStore userStore = new UserStore();
+    private final PerformanceProfileTransformer performanceProfiles = new PerformanceProfileTransformer();
+    private final MockMetrics metrics = new MockMetrics();
+    private final ConnectionStats connectionStats = new ConnectionStats();
+    private final FixtureRecorder fixtureRecorder = new FixtureRecorder(MAX_LOGGED_RESPONSE_BYTES);
+    private final FixtureReplayTransformer fixtureReplay = new FixtureReplayTransformer();
+
+    private final long buildNanos;
+    private final int staticMappings;
+    private long startupNanos;
+    private final AtomicInteger scenariosServed = new AtomicInteger();
+    private final AtomicInteger inProcessScenarios = new AtomicInteger();
+    private final AtomicLong scenarioSetupNanos = new AtomicLong();
+    private volatile boolean inProcessScenario;
+
+    /**
+     * Returns the configuration owned by the calling worker thread. Each parallel
+     * worker gets its own server on a dynamic port, booted once and stopped by
+     * {@link #shutdownAll()} or, failing that, by a shutdown hook.
+     */
+    public static TestConfiguration forCurrentWorker() {
+        TestConfiguration config = WORKER_CONFIG.get();
+        if (config == null) {
+            config = new TestConfiguration();
+            Runtime.getRuntime().addShutdownHook(new Thread(config::stopWireMockServer, "wiremock-shutdown"));
+            ALL_WORKERS.add(config);
+            WORKER_CONFIG.set(config);
+        }
+        return config;
+    }
+
+    public static void shutdownAll() {
+        long connections = 0;
+        long requests = 0;
+        for (TestConfiguration config : ALL_WORKERS) {
+            config.stopWireMockServer();
+            connections += config.connectionStats.getConnectionsOpened();
+            requests += config.connectionStats.getRequestsServed();
+        }
+        summarizeLifecycle(ALL_WORKERS);
+        if (!ALL_WORKERS.isEmpty()) {
+            RunSummary.add("Server profile: " + ALL_WORKERS.get(0).serverProfile);
+        }
+        RunSummary.add("Opened %d connection(s) for %d request(s): %.1f%% connection reuse",
+                connections, requests, 100 * ConnectionStats.reuseRatio(connections, requests));
+        RunSummary.add("User body cache: " + UserCodec.shared().stats());
+        RunSummary.add("Contract validation: " + ContractValidator.shared().stats());
+        closeSharedFixtures();
+    }
 
     public TestConfiguration() {
-        this.objectMapper = new ObjectMapper();
-        this.wireMockServer = new WireMockServer(
-                WireMockConfiguration.options()
-                        .port(WIREMOCK_PORT)
-        );
+        this(ServerProfile.fromSystemProperties());
+    }
+
+    public TestConfiguration(int maxJournalEntries) {
+        this(ServerProfile.fromSystemProperties(), maxJournalEntries);
+    }
+
+    public TestConfiguration(ServerProfile serverProfile) {
+        this(serverProfile, Integer.getInteger("mock.journal.maxEntries", DEFAULT_JOURNAL_ENTRIES));
+    }
+
+    /**
+     * @param serverProfile     Jetty threading, async response and gzip settings
+     * @param maxJournalEntries requests kept in WireMock's request journal; 0 disables
+     *                          the journal and a negative value leaves it unbounded.
+     *                          Ignored when the server profile has no journal.
+     *                          {@link #getMetrics()} is populated either way.
+     */
+    public TestConfiguration(ServerProfile serverProfile, int maxJournalEntries) {
+        long start = System.nanoTime();
+        this.serverProfile = serverProfile;
+        WireMockConfiguration options = WireMockConfiguration.options()
+                .dynamicPort()
+                .usingFilesUnderClasspath(CLASSPATH_MAPPINGS_ROOT)
+                .maxLoggedResponseSize(MAX_LOGGED_RESPONSE_BYTES)
+                .stubRequestLoggingDisabled(true)
+                .networkTrafficListener(connectionStats)
+                .extensions(
+                        new UserStoreTransformer(userStore),
+                        new UserListingTransformer(userStore),
+                        new UserBatchTransformer(userStore),
+                        new MockMetricsExtension(metrics),
+                        connectionStats,
+                        fixtureRecorder,
+                        fixtureReplay,
+                        fixtureReplay.matcher(),
+                        // Last, so profiles apply to the final response of every other extension
+                        performanceProfiles);
+        serverProfile.applyTo(options);
+        if (maxJournalEntries == 0 || !serverProfile.hasRequestJournal()) {
+            options.disableRequestJournal();
+        } else if (maxJournalEntries > 0) {
+            options.maxRequestJournalEntries(maxJournalEntries);
+        }
+        // Static mappings are loaded from the classpath here, once; Jetty is not started yet
+        this.wireMockServer = new WireMockServer(options);
+        this.wireMock = new WireMock(wireMockServer);
+        this.staticMappings = wireMockServer.getStubMappings().size();
+        // Matches nothing until fixtureReplay is given a store, so it stays registered for the run
+        wireMock.register(requestMatching(FixtureReplayTransformer.MATCHER_NAME)
+                .atPriority(FIXTURE_REPLAY_PRIORITY)
+                .withMetadata(metadata().attr(STATIC_METADATA, true))
+                .willReturn(aResponse().withTransformers(FixtureReplayTransformer.NAME)));
+        this.buildNanos = System.nanoTime() - start;
     }
 
-    public void startWireMockServer() {
+    public synchronized void startWireMockServer() {
         if (!wireMockServer.isRunning()) {
+            long start = System.nanoTime();
             wireMockServer.start();
-            WireMock.configureFor("localhost", WIREMOCK_PORT);
+            startupNanos = System.nanoTime() - start;
         }
     }
 
-    public void stopWireMockServer() {
+    /**
+     * Prepares the mock for a new scenario: removes ad-hoc stubs and clears the request
+     * journal and the user store instead of paying for a fresh Jetty boot. Jetty itself
+     * is only started once a scenario asks for {@link #getBaseUrl()}.
+     *
+     * @param tags the scenario's tags; scenarios tagged {@value #IN_PROCESS_TAG} must
+     *             not send HTTP requests
+     */
+    public void beginScenario(Collection<String> tags) {
+        long start = System.nanoTime();
+        resetStubs();
+        inProcessScenario = tags.contains(IN_PROCESS_TAG);
+        if (inProcessScenario) {
+            inProcessScenarios.incrementAndGet();
+        }
+        scenariosServed.incrementAndGet();
+        scenarioSetupNanos.addAndGet(System.nanoTime() - start);
+    }
+
+    public synchronized void stopWireMockServer() {
         if (wireMockServer.isRunning()) {
             wireMockServer.stop();
         }
     }
 
+    private static void summarizeLifecycle(List<TestConfiguration> workers) {
+        long buildNanos = 0;
+        long startupNanos = 0;
+        long setupNanos = 0;
+        int started = 0;
+        int scenarios = 0;
+        int inProcess = 0;
+        for (TestConfiguration config : workers) {
+            buildNanos += config.buildNanos;
+            startupNanos += config.startupNanos;
+            started += config.startupNanos > 0 ? 1 : 0;
+            setupNanos += config.scenarioSetupNanos.get();
+            scenarios += config.scenariosServed.get();
+            inProcess += config.inProcessScenarios.get();
+        }
+        RunSummary.add("Mock cold start: %d mock(s) built with %d classpath mapping(s) in %d ms, "
+                        + "Jetty started %d time(s) in %d ms",
+                workers.size(), workers.isEmpty() ? 0 : workers.get(0).staticMappings,
+                TimeUnit.NANOSECONDS.toMillis(buildNanos), started, TimeUnit.NANOSECONDS.toMillis(startupNanos));
+        RunSummary.add("Scenario setup: %d scenario(s), %d in process, %d us mean",
+                scenarios, inProcess, scenarios == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(setupNanos) / scenarios);
+    }
+
+    /**
+     * Base URL of the mock, starting it on first use.
+     *
+     * @throws IllegalStateException in a scenario tagged {@value #IN_PROCESS_TAG}
+     */
     public String getBaseUrl() {
-        return "http://localhost:" + WIREMOCK_PORT;
-    }
-
-    public void setupCommonStubs() {
-        // Health check endpoint
-        stubFor(get(urlEqualTo("/health"))
-                .willReturn(aResponse()
-                        .withStatus(200)
-                        .withHeader("Content-Type", "application/json")
-                        .withBody("{\"status\":\"UP\",\"service\":\"user-service\"}")));
-    }
-
-    public void setupCreateUserStub(User user) {
-        try {
-            User responseUser = User.builder()
-                    .id(UUID.randomUUID().toString())
-                    .firstName(user.getFirstName())
-                    .lastName(user.getLastName())
-                    .email(user.getEmail())
-                    .age(user.getAge())
-                    .build();
-
-            String responseBody = objectMapper.writeValueAsString(responseUser);
-
-            stubFor(post(urlEqualTo("/users"))
-                    .withHeader("Content-Type", equalTo("application/json"))
-                    .willReturn(aResponse()
-                            .withStatus(201)
-                            .withHeader("Content-Type", "application/json")
-                            .withBody(responseBody)));
-
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to setup create user stub", e);
+        if (inProcessScenario) {
+            throw new IllegalStateException("Scenarios tagged " + IN_PROCESS_TAG + " run without the HTTP mock");
         }
+        startWireMockServer();
+        return "http://localhost:" + wireMockServer.port();
     }
 
-    public void setupUserExistsStub(String userId) {
-        try {
-            User existingUser = User.builder()
-                    .id(userId)
-                    .firstName("John")
-                    .lastName("Doe")
-                    .email("john@example.com")
-                    .age(30)
-                    .build();
+    public UserStore getUserStore() {
+        return userStore;
+    }
 
-            String responseBody = objectMapper.writeValueAsString(existingUser);
+    public void seedUser(User user) {
+        userStore.save(user);
+    }
 
-            stubFor(get(urlEqualTo("/users/" + userId))
-                    .willReturn(aResponse()
-                            .withStatus(200)
-                            .withHeader("Content-Type", "application/json")
-                            .withBody(responseBody)));
+    public void removeUser(String userId) {
+        userStore.delete(userId);
+    }
 
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to setup user exists stub", e);
-        }
+    /**
+     * Applies a named {@link PerformanceProfile} to the user and health endpoints, seeded
+     * from {@code -Dmock.profile.seed} (default 42).
+     */
+    public void usePerformanceProfile(String name) {
+        usePerformanceProfile(name, DEFAULT_PROFILE_SEED);
     }
 
-    public void setupUpdateUserStub(User updatedUser) {
-        try {
-            String responseBody = objectMapper.writeValueAsString(updatedUser);
+    public void usePerformanceProfile(String name, long seed) {
+        performanceProfiles.use(PerformanceProfile.named(name), seed);
+    }
 
-            stubFor(put(urlEqualTo("/users/" + updatedUser.getId()))
-                    .withHeader("Content-Type", equalTo("application/json"))
-                    .willReturn(aResponse()
-                            .withStatus(200)
-                            .withHeader("Content-Type", "application/json")
-                            .withBody(responseBody)));
+    public PerformanceProfile getPerformanceProfile() {
+        return performanceProfiles.getProfile();
+    }
 
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to setup update user stub", e);
-        }
+    /**
+     * Per-endpoint hit counts and latencies since the last {@link #resetStubs()}, also
+     * served as JSON at {@code /__admin/metrics}.
+     */
+    public MockMetrics getMetrics() {
+        return metrics;
     }
 
-    public void setupDeleteUserStub(String userId) {
-        stubFor(delete(urlEqualTo("/users/" + userId))
-                .willReturn(aResponse()
-                        .withStatus(204)));
+    public ServerProfile getServerProfile() {
+        return serverProfile;
     }
 
-    public void setupUserNotFoundStub(String userId) {
-        stubFor(get(urlEqualTo("/users/" + userId))
-                .willReturn(aResponse()
-                        .withStatus(404)
-                        .withHeader("Content-Type", "application/json")
-                        .withBody("{\"error\":\"User not found\",\"message\":\"User with ID " + userId + " does not exist\"}")));
+    public ConnectionStats getConnectionStats() {
+        return connectionStats;
     }
 
-    public void setupValidationErrorStub(Map<String, String> userData) {
-        String errorMessage = "Validation error";
+    /**
+     * Appends every user and health exchange served from now on to {@code writer}, until
+     * {@link #stopRecordingFixtures()} or the next {@link #resetStubs()}.
+     */
+    public void recordFixtures(FixtureWriter writer) {
+        fixtureRecorder.recordTo(writer);
+    }
+
+    public void stopRecordingFixtures() {
+        fixtureRecorder.recordTo(null);
+    }
 
-        // Determine specific error message based on invalid data
-        if (userData.get("firstName") == null || userData.get("firstName").isEmpty()) {
-            errorMessage = "First name required";
-        } else if (userData.get("lastName") == null || userData.get("lastName").isEmpty()) {
-            errorMessage = "Last name required";
-        } else if (!userData.get("email").contains("@") || userData.get("email").equals("invalid-email")) {
-            errorMessage = "Invalid email format";
-        } else if (userData.get("age").equals("-1") || userData.get("age").equals("200")) {
-            errorMessage = "Invalid age";
+    /**
+     * Answers every request recorded in {@code fixtures} with its recorded response, ahead
+     * of all other stubs, until the next {@link #resetStubs()}. Other requests are served
+     * as usual.
+     */
+    public void replayFixtures(FixtureStore fixtures) {
+        fixtureReplay.use(fixtures);
+    }
+
+    /**
+     * Removes every stub registered since the server was built, keeping the static
+     * classpath mappings, and clears the request journal, metrics and user store.
+     */
+    public void resetStubs() {
+        for (StubMapping stub : wireMockServer.getStubMappings()) {
+            if (!isStatic(stub)) {
+                wireMockServer.removeStubMapping(stub);
+            }
         }
+        wireMockServer.resetRequests();
+        metrics.reset();
+        userStore.clear();
+        performanceProfiles.use(PerformanceProfile.FAST, DEFAULT_PROFILE_SEED);
+        // Back to the run-wide fixture modes, if -Dmock.fixtures.record or .replay name a file
+        fixtureRecorder.recordTo(sharedFixtureWriter());
+        fixtureReplay.use(sharedFixtureStore());
+    }
+
+    private static boolean isStatic(StubMapping stub) {
+        return stub.getMetadata() != null && stub.getMetadata().getBoolean(STATIC_METADATA, false);
+    }
 
-        stubFor(post(urlEqualTo("/users"))
-                .withHeader("Content-Type", equalTo("application/json"))
-                .willReturn(aResponse()
-                        .withStatus(400)
-                        .withHeader("Content-Type", "application/json")
-                        .withBody("{\"error\":\"Validation Error\",\"message\":\"" + errorMessage + "\"}")));
+    private static synchronized FixtureWriter sharedFixtureWriter() {
+        if (sharedFixtureWriter == null && RECORD_FIXTURES_TO != null) {
+            try {
+                sharedFixtureWriter = new FixtureWriter(Paths.get(RECORD_FIXTURES_TO));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not record fixtures to " + RECORD_FIXTURES_TO, e);
+            }
+        }
+        return sharedFixtureWriter;
     }
 
-    public void setupInvalidEmailStub() {
-        stubFor(post(urlEqualTo("/users"))
-                .withHeader("Content-Type", equalTo("application/json"))
-                .willReturn(aResponse()
-                        .withStatus(400)
-                        .withHeader("Content-Type", "application/json")
-                        .withBody("{\"error\":\"Validation Error\",\"message\":\"Invalid email format\"}")));
+    private static synchronized FixtureStore sharedFixtureStore() {
+        if (sharedFixtureStore == null && REPLAY_FIXTURES_FROM != null) {
+            Path file = Paths.get(REPLAY_FIXTURES_FROM);
+            try {
+                sharedFixtureStore = FixtureStore.open(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not replay fixtures from " + file, e);
+            }
+            RunSummary.add("Replaying fixtures from " + sharedFixtureStore);
+        }
+        return sharedFixtureStore;
     }
 
-    public void resetStubs() {
-        WireMock.reset();
-        setupCommonStubs();
+    private static synchronized void closeSharedFixtures() {
+        if (sharedFixtureWriter != null) {
+            try {
+                sharedFixtureWriter.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            RunSummary.add("Recorded %d fixture(s) to %s", sharedFixtureWriter.getRecorded(),
+                    sharedFixtureWriter.getFile());
+            sharedFixtureWriter = null;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.example.contracts;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks response bodies against the JSON Schema contracts under {@code schemas/} on the
+ * test classpath. Schemas are loaded and compiled once per JVM and the compiled
+ * {@link JsonSchema} instances are shared by all threads.
+ *
+ * <p>Bodies are parsed to a tree once; callers bind the returned tree to their model, so
+ * validation adds no second parse. {@code -Dmock.contracts.enabled=false} skips the schema
+ * check, which together with {@link #stats()} shows what contract checking costs.
+ */
+public final class ContractValidator {
+
+    public enum Contract {
+        USER("schemas/user.json"),
+        ERROR("schemas/error.json"),
+        HEALTH("schemas/health.json");
+
+        private final String resource;
+
+        Contract(String resource) {
+            this.resource = resource;
+        }
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ContractValidator SHARED =
+            new ContractValidator(Boolean.parseBoolean(System.getProperty("mock.contracts.enabled", "true")));
+
+    private final boolean enabled;
+    private final Map<Contract, JsonSchema> schemas = new EnumMap<>(Contract.class);
+    private final LongAdder validations = new LongAdder();
+    private final LongAdder validationNanos = new LongAdder();
+
+    public ContractValidator(boolean enabled) {
+        this.enabled = enabled;
+        JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
+        for (Contract contract : Contract.values()) {
+            try {
+                JsonSchema schema = factory.getJsonSchema(load(contract.resource));
+                // The validator chain is built lazily on first use; pay for it here rather than in a step
+                schema.validInstanceUnchecked(OBJECT_MAPPER.createObjectNode());
+                schemas.put(contract, schema);
+            } catch (ProcessingException e) {
+                throw new IllegalStateException("Invalid JSON schema " + contract.resource, e);
+            }
+        }
+    }
+
+    public static ContractValidator shared() {
+        return SHARED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Parses {@code body} and, when enabled, validates it against {@code contract}.
+     *
+     * @throws AssertionError if the body breaks the contract, listing every violation
+     */
+    public JsonNode check(Contract contract, byte[] body) throws IOException {
+        JsonNode tree = OBJECT_MAPPER.readTree(body);
+        validate(contract, tree);
+        return tree;
+    }
+
+    public void validate(Contract contract, JsonNode tree) {
+        if (!enabled) {
+            return;
+        }
+        JsonSchema schema = schemas.get(contract);
+        long start = System.nanoTime();
+        boolean valid = schema.validInstanceUnchecked(tree);
+        validationNanos.add(System.nanoTime() - start);
+        validations.increment();
+        if (!valid) {
+            // Only a failing body pays for the full report
+            ProcessingReport report = schema.validateUnchecked(tree, true);
+            throw new AssertionError("Response breaks the " + contract + " contract: " + tree + "\n" + report);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(enabled, validations.sum(), validationNanos.sum());
+    }
+
+    private static JsonNode load(String resource) {
+        try (InputStream in = ContractValidator.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing JSON schema " + resource);
+            }
+            return OBJECT_MAPPER.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read JSON schema " + resource, e);
+        }
+    }
+
+    public static final class Stats {
+        private final boolean enabled;
+        private final long validations;
+        private final long nanos;
+
+        Stats(boolean enabled, long validations, long nanos) {
+            this.enabled = enabled;
+            this.validations = validations;
+            this.nanos = nanos;
+        }
+
+        public long getValidations() {
+            return validations;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            if (!enabled) {
+                return "disabled";
+            }
+            return String.format("validations=%d, total=%.1fms, mean=%.1fus", validations, nanos / 1e6,
+                    validations == 0 ? 0 : nanos / 1e3 / validations);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.mock;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Response body that is produced on demand: whenever the reader drains the buffer,
+ * the next chunk is written through a {@link JsonGenerator}. Only one chunk is ever
+ * held in memory, whatever the total body size.
+ */
+abstract class ChunkedJsonStream extends InputStream {
+
+    private final ReusableBuffer buffer = new ReusableBuffer();
+    private final JsonGenerator generator;
+    private int position;
+    private boolean finished;
+
+    ChunkedJsonStream(UserCodec codec) {
+        this.generator = codec.generator(buffer);
+    }
+
+    /**
+     * Writes the next chunk of the body to {@code generator}.
+     *
+     * @return false once the body is complete
+     */
+    protected abstract boolean writeNextChunk(JsonGenerator generator) throws IOException;
+
+    @Override
+    public int read() throws IOException {
+        return fill() ? buffer.bytes()[position++] & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(length, buffer.size() - position);
+        System.arraycopy(buffer.bytes(), position, target, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        generator.close();
+    }
+
+    private boolean fill() throws IOException {
+        while (position >= buffer.size() && !finished) {
+            buffer.reset();
+            position = 0;
+            finished = !writeNextChunk(generator);
+            generator.flush();
+        }
+        return position < buffer.size();
+    }
+
+    private static final class ReusableBuffer extends ByteArrayOutputStream {
+
+        ReusableBuffer() {
+            super(16 * 1024);
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.mock;
+
+import com.github.tomakehurst.wiremock.core.Admin;
+import com.github.tomakehurst.wiremock.extension.PostServeAction;
+import com.github.tomakehurst.wiremock.http.trafficlistener.WiremockNetworkTrafficListener;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts TCP connections accepted by the mock against the stub requests served over
+ * them, whichever client made them. Register it as both the network traffic listener
+ * and an extension. Unlike {@link MockMetrics} it is never reset, because pooled
+ * connections outlive a scenario.
+ */
+public class ConnectionStats extends PostServeAction implements WiremockNetworkTrafficListener {
+
+    public static final String NAME = "connection-stats";
+
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder requestsServed = new LongAdder();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void opened(Socket socket) {
+        connectionsOpened.increment();
+    }
+
+    @Override
+    public void incoming(Socket socket, ByteBuffer bytes) {
+    }
+
+    @Override
+    public void outgoing(Socket socket, ByteBuffer bytes) {
+    }
+
+    @Override
+    public void closed(Socket socket) {
+    }
+
+    @Override
+    public void doGlobalAction(ServeEvent serveEvent, Admin admin) {
+        requestsServed.increment();
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+
+    public long getRequestsServed() {
+        return requestsServed.sum();
+    }
+
+    /**
+     * Share of requests served on an already open connection, between 0 and 1.
+     */
+    public static double reuseRatio(long connectionsOpened, long requestsServed) {
+        return requestsServed == 0 ? 0 : Math.max(0, 1 - (double) connectionsOpened / requestsServed);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("connections=%d, requests=%d, reuse=%.1f%%", getConnectionsOpened(), getRequestsServed(),
+                100 * reuseRatio(getConnectionsOpened(), getRequestsServed()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The encoded JSON body of one stored user version together with its entity tag. The
+ * tag is a hash of the body, so identical content always gets the same tag, across
+ * versions and across runs. The gzip form is compressed on first request and kept.
+ */
+public final class EncodedUser {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    // 128 bits of the digest are plenty to tell revisions of a user apart
+    private static final int TAG_BYTES = 16;
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final byte[] body;
+    private final String etag;
+    private volatile byte[] gzipped;
+
+    EncodedUser(byte[] body) {
+        this.body = body;
+        this.etag = tagOf(body);
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * The strong entity tag, quoted as it appears in the {@code ETag} header.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    public byte[] getGzippedBody() {
+        byte[] compressed = gzipped;
+        if (compressed == null) {
+            // Racing threads compress the same bytes; either result may be kept
+            compressed = gzip(body);
+            gzipped = compressed;
+        }
+        return compressed;
+    }
+
+    private static String tagOf(byte[] body) {
+        byte[] digest = SHA_256.get().digest(body);
+        char[] tag = new char[TAG_BYTES * 2 + 2];
+        tag[0] = '"';
+        for (int i = 0; i < TAG_BYTES; i++) {
+            tag[1 + 2 * i] = HEX[(digest[i] >> 4) & 0xF];
+            tag[2 + 2 * i] = HEX[digest[i] & 0xF];
+        }
+        tag[tag.length - 1] = '"';
+        return new String(tag);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
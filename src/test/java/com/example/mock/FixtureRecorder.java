@@ -0,0 +1,92 @@
+package com.example.mock;
+
+import com.github.tomakehurst.wiremock.common.Gzip;
+import com.github.tomakehurst.wiremock.core.Admin;
+import com.github.tomakehurst.wiremock.extension.PostServeAction;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.LoggedResponse;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Appends every served user and health exchange to a {@link FixtureWriter} while
+ * recording is switched on. Gzipped bodies are stored decoded so a replay suits any
+ * client. Faults, the streamed export and bodies cut short by the logged response
+ * limit are not recorded.
+ */
+public class FixtureRecorder extends PostServeAction {
+
+    public static final String NAME = "fixture-recorder";
+
+    // Framing and per-connection headers that Jetty sets again on replay
+    private static final Set<String> UNRECORDED_HEADERS = Set.of(
+            "content-length", "content-encoding", "transfer-encoding", "vary", "date", "server", "matched-stub-id");
+
+    private final int maxBodyBytes;
+    private volatile FixtureWriter writer;
+
+    /**
+     * @param maxBodyBytes the server's logged response limit; bodies this long may be truncated
+     */
+    public FixtureRecorder(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Records into {@code writer} from now on, or stops recording when it is null.
+     */
+    public void recordTo(FixtureWriter writer) {
+        this.writer = writer;
+    }
+
+    public FixtureWriter getWriter() {
+        return writer;
+    }
+
+    @Override
+    public void doGlobalAction(ServeEvent serveEvent, Admin admin) {
+        FixtureWriter target = writer;
+        LoggedRequest request = serveEvent.getRequest();
+        LoggedResponse response = serveEvent.getResponse();
+        if (target == null || response.getFault() != null || !isRecorded(request.getUrl())) {
+            return;
+        }
+        byte[] body = response.getBody();
+        if (body.length >= maxBodyBytes) {
+            return;
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        boolean gzipped = false;
+        for (HttpHeader header : response.getHeaders().all()) {
+            String name = header.key().toLowerCase(Locale.ROOT);
+            gzipped |= name.equals("content-encoding") && header.firstValue().equalsIgnoreCase("gzip");
+            if (!UNRECORDED_HEADERS.contains(name)) {
+                headers.put(header.key(), header.firstValue());
+            }
+        }
+        try {
+            target.append(request.getMethod().getName(), request.getUrl(), request.getBody(), response.getStatus(),
+                    headers, gzipped ? Gzip.unGzip(body) : body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not record fixture to " + target.getFile(), e);
+        }
+    }
+
+    private static boolean isRecorded(String url) {
+        String endpoint = MockMetrics.endpointOf(url);
+        return endpoint.equals("/users") || endpoint.equals("/users/{id}") || endpoint.equals("/users/batch")
+                || endpoint.equals("/health");
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.mock;
+
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.matching.MatchResult;
+import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
+
+/**
+ * Serves responses recorded in a {@link FixtureStore}. Register both this transformer
+ * and its {@link #matcher()}; a mapping that requires the matcher only takes requests
+ * that were recorded, so everything else falls through to the regular stubs.
+ */
+public class FixtureReplayTransformer extends ResponseDefinitionTransformer {
+
+    public static final String NAME = "fixture-replay";
+    public static final String MATCHER_NAME = "recorded-fixture";
+
+    private volatile FixtureStore fixtures;
+
+    private final RequestMatcherExtension matcher = new RequestMatcherExtension() {
+        @Override
+        public MatchResult match(Request request, Parameters parameters) {
+            return MatchResult.of(find(fixtures, request) >= 0);
+        }
+
+        @Override
+        public String getName() {
+            return MATCHER_NAME;
+        }
+    };
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    public RequestMatcherExtension matcher() {
+        return matcher;
+    }
+
+    /**
+     * Replays from {@code fixtures}, or stops replaying when it is null.
+     */
+    public void use(FixtureStore fixtures) {
+        this.fixtures = fixtures;
+    }
+
+    public FixtureStore getFixtures() {
+        return fixtures;
+    }
+
+    @Override
+    public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition,
+                                        FileSource files, Parameters parameters) {
+        FixtureStore current = fixtures;
+        int offset = find(current, request);
+        if (offset < 0) {
+            // Replay was switched off between matching and serving
+            return UserStoreTransformer.error(404, "Not Found", "No recorded fixture for " + request.getUrl());
+        }
+        return current.response(offset);
+    }
+
+    private static int find(FixtureStore fixtures, Request request) {
+        return fixtures == null ? -1 : fixtures.find(request.getMethod().getName(), request.getUrl(), request.getBody());
+    }
+}
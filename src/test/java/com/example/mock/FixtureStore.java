@@ -0,0 +1,258 @@
+package com.example.mock;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Read-only view of a fixture file written by {@link FixtureWriter}. The file is memory
+ * mapped and indexed by method, URL and request body hash in an off-heap open-addressing
+ * table, so loading costs one sequential scan and no Java objects per fixture. When the
+ * same request was recorded more than once, the latest response wins.
+ *
+ * <p>File layout, big-endian: the {@link #MAGIC} header, then one record per exchange:
+ * <pre>
+ * int   record length, excluding this field
+ * short method length, method (ASCII)
+ * short URL length, URL (UTF-8)
+ * long  request body hash
+ * short status
+ * short header count, then per header: short name length, name, short value length, value
+ * int   body length, body
+ * </pre>
+ */
+public final class FixtureStore {
+
+    static final byte[] MAGIC = "MOCKFIX1".getBytes(StandardCharsets.US_ASCII);
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long EMPTY_SLOT = 0;
+    // long key, int record offset, int padding
+    private static final int SLOT_BYTES = 16;
+
+    private final Path file;
+    private final MappedByteBuffer records;
+    private final ByteBuffer index;
+    private final int mask;
+    private int size;
+    private long loadNanos;
+
+    private FixtureStore(Path file, MappedByteBuffer records, int capacity) {
+        this.file = file;
+        this.records = records;
+        this.index = ByteBuffer.allocateDirect(capacity * SLOT_BYTES);
+        this.mask = capacity - 1;
+    }
+
+    public static FixtureStore open(Path file) throws IOException {
+        long start = System.nanoTime();
+        MappedByteBuffer records;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Fixture file " + file + " is larger than 2 GB");
+            }
+            // The mapping stays valid after the channel is closed
+            records = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        byte[] magic = new byte[MAGIC.length];
+        if (records.limit() >= MAGIC.length) {
+            records.get(0, magic);
+        }
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException(file + " is not a fixture file");
+        }
+
+        int count = 0;
+        for (int offset = MAGIC.length; isComplete(records, offset); offset = next(records, offset)) {
+            count++;
+        }
+        FixtureStore store = new FixtureStore(file, records, Integer.highestOneBit(Math.max(16, count * 2 - 1)) << 1);
+        for (int offset = MAGIC.length; isComplete(records, offset); offset = next(records, offset)) {
+            store.size += store.insert(offset) ? 1 : 0;
+        }
+        store.loadNanos = System.nanoTime() - start;
+        return store;
+    }
+
+    /**
+     * Offset of the response recorded for this request, or -1 if none was.
+     */
+    public int find(String method, String url, byte[] requestBody) {
+        byte[] methodBytes = method.getBytes(StandardCharsets.US_ASCII);
+        byte[] urlBytes = url.getBytes(StandardCharsets.UTF_8);
+        long bodyHash = bodyHash(requestBody);
+        long key = key(hash(FNV_OFFSET, methodBytes), urlBytes, bodyHash);
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            long slotKey = index.getLong(slot * SLOT_BYTES);
+            if (slotKey == EMPTY_SLOT) {
+                return -1;
+            }
+            int offset = index.getInt(slot * SLOT_BYTES + Long.BYTES);
+            if (slotKey == key && sameRequest(offset, methodBytes, urlBytes, bodyHash)) {
+                return offset;
+            }
+        }
+    }
+
+    /**
+     * The recorded response at {@code offset}. Only its body is copied onto the heap, as
+     * the response model needs a byte array.
+     */
+    public ResponseDefinition response(int offset) {
+        int position = skipShortString(skipShortString(offset + Integer.BYTES)) + Long.BYTES;
+        ResponseDefinitionBuilder response = new ResponseDefinitionBuilder().withStatus(records.getShort(position));
+        position += Short.BYTES;
+        int headers = records.getShort(position);
+        position += Short.BYTES;
+        for (int i = 0; i < headers; i++) {
+            String name = shortString(position);
+            position = skipShortString(position);
+            String value = shortString(position);
+            position = skipShortString(position);
+            response.withHeader(name, value);
+        }
+        byte[] body = new byte[records.getInt(position)];
+        records.get(position + Integer.BYTES, body);
+        return response.withBody(body).build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getLoadNanos() {
+        return loadNanos;
+    }
+
+    public long getMappedBytes() {
+        return records.capacity();
+    }
+
+    public long getIndexBytes() {
+        return index.capacity();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d fixture(s), %d MB mapped, %d MB off-heap index, loaded in %d ms", file, size,
+                getMappedBytes() >> 20, getIndexBytes() >> 20, loadNanos / 1_000_000);
+    }
+
+    // A record cut short by an interrupted recording is ignored along with anything after it
+    private static boolean isComplete(ByteBuffer records, int offset) {
+        return offset + Integer.BYTES <= records.limit() && next(records, offset) <= records.limit();
+    }
+
+    private static int next(ByteBuffer records, int offset) {
+        return offset + Integer.BYTES + records.getInt(offset);
+    }
+
+    static long bodyHash(byte[] body) {
+        return body == null ? FNV_OFFSET : hash(FNV_OFFSET, body);
+    }
+
+    private boolean insert(int offset) {
+        int methodLength = records.getShort(offset + Integer.BYTES);
+        int methodStart = offset + Integer.BYTES + Short.BYTES;
+        int urlLengthAt = methodStart + methodLength;
+        int urlLength = records.getShort(urlLengthAt);
+        int urlStart = urlLengthAt + Short.BYTES;
+        long bodyHash = records.getLong(urlStart + urlLength);
+        long key = mix(hash(hash(FNV_OFFSET, methodStart, methodLength), urlStart, urlLength) ^ bodyHash);
+        key = key == EMPTY_SLOT ? 1 : key;
+
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            long slotKey = index.getLong(slot * SLOT_BYTES);
+            if (slotKey == EMPTY_SLOT) {
+                index.putLong(slot * SLOT_BYTES, key);
+                index.putInt(slot * SLOT_BYTES + Long.BYTES, offset);
+                return true;
+            }
+            int existing = index.getInt(slot * SLOT_BYTES + Long.BYTES);
+            if (slotKey == key && sameRequest(existing, offset)) {
+                index.putInt(slot * SLOT_BYTES + Long.BYTES, offset);
+                return false;
+            }
+        }
+    }
+
+    private boolean sameRequest(int offset, byte[] method, byte[] url, long bodyHash) {
+        int position = offset + Integer.BYTES;
+        if (!equalsShortString(position, method)) {
+            return false;
+        }
+        position = skipShortString(position);
+        if (!equalsShortString(position, url)) {
+            return false;
+        }
+        return records.getLong(skipShortString(position)) == bodyHash;
+    }
+
+    private boolean sameRequest(int recorded, int offset) {
+        int end = skipShortString(skipShortString(offset + Integer.BYTES)) + Long.BYTES;
+        return records.slice(recorded + Integer.BYTES, end - offset - Integer.BYTES)
+                .equals(records.slice(offset + Integer.BYTES, end - offset - Integer.BYTES));
+    }
+
+    private boolean equalsShortString(int position, byte[] expected) {
+        if (records.getShort(position) != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (records.get(position + Short.BYTES + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int skipShortString(int position) {
+        return position + Short.BYTES + records.getShort(position);
+    }
+
+    private String shortString(int position) {
+        byte[] bytes = new byte[records.getShort(position)];
+        records.get(position + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long hash(long hash, int start, int length) {
+        for (int i = start; i < start + length; i++) {
+            hash = (hash ^ (records.get(i) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private int slotOf(long key) {
+        return (int) key & mask;
+    }
+
+    private static long key(long methodHash, byte[] url, long bodyHash) {
+        long key = mix(hash(methodHash, url) ^ bodyHash);
+        return key == EMPTY_SLOT ? 1 : key;
+    }
+
+    // FNV-1a over the bytes
+    private static long hash(long hash, byte[] bytes) {
+        for (byte b : bytes) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finaliser, so the low bits used for slots depend on every input byte
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
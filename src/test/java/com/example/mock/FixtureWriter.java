@@ -0,0 +1,114 @@
+package com.example.mock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Appends request/response pairs to a fixture file in the layout read by
+ * {@link FixtureStore}. Existing files are appended to, so one file can collect
+ * traffic from several runs. Records are buffered and reach the file when the buffer
+ * fills, on {@link #flush()} and on {@link #close()}. Safe for concurrent use.
+ */
+public final class FixtureWriter implements Closeable {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private long recorded;
+
+    public FixtureWriter(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (channel.size() == 0) {
+            channel.write(ByteBuffer.wrap(FixtureStore.MAGIC));
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized void append(String method, String url, byte[] requestBody, int status,
+                                    Map<String, String> headers, byte[] body) throws IOException {
+        // Every field is checked before anything is written, so a rejected record never
+        // leaves a partial frame in the buffer
+        byte[] methodBytes = shortString(method.getBytes(StandardCharsets.US_ASCII));
+        byte[] urlBytes = shortString(url.getBytes(StandardCharsets.UTF_8));
+        if (headers.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Fixture has more than " + Short.MAX_VALUE + " headers");
+        }
+        byte[][] headerBytes = new byte[2 * headers.size()][];
+        int size = Integer.BYTES + Short.BYTES + methodBytes.length + Short.BYTES + urlBytes.length
+                + Long.BYTES + Short.BYTES + Short.BYTES + Integer.BYTES + body.length;
+        int i = 0;
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            headerBytes[i] = shortString(header.getKey().getBytes(StandardCharsets.UTF_8));
+            headerBytes[i + 1] = shortString(header.getValue().getBytes(StandardCharsets.UTF_8));
+            size += 2 * Short.BYTES + headerBytes[i].length + headerBytes[i + 1].length;
+            i += 2;
+        }
+        if (buffer.remaining() < size) {
+            flush();
+            if (buffer.capacity() < size) {
+                buffer = ByteBuffer.allocate(size);
+            }
+        }
+
+        buffer.putInt(size - Integer.BYTES);
+        putShortString(methodBytes);
+        putShortString(urlBytes);
+        buffer.putLong(FixtureStore.bodyHash(requestBody));
+        buffer.putShort((short) status);
+        buffer.putShort((short) headers.size());
+        for (byte[] bytes : headerBytes) {
+            putShortString(bytes);
+        }
+        buffer.putInt(body.length);
+        buffer.put(body);
+        recorded++;
+    }
+
+    public synchronized void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public synchronized long getRecorded() {
+        return recorded;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void putShortString(byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static byte[] shortString(byte[] bytes) {
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Fixture field longer than " + Short.MAX_VALUE + " bytes");
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.mock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit counts and latency histograms for the mock, keyed by endpoint and status code.
+ * Every counter is a {@link LongAdder}, so concurrent requests never contend on a
+ * shared cell. Latencies have millisecond resolution, as WireMock times serve events.
+ */
+public class MockMetrics {
+
+    /** Inclusive upper bounds, in milliseconds, of every bucket but the last. */
+    static final long[] BUCKET_BOUNDS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    static final String OTHER = "other";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ConcurrentMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String method, String path, int status, long latencyMillis) {
+        endpoints.computeIfAbsent(key(method, endpointOf(path), status), ignored -> new EndpointMetrics())
+                .record(latencyMillis);
+    }
+
+    /**
+     * Requests served for an endpoint template such as {@code GET /users/{id}}, across all statuses.
+     */
+    public long count(String endpoint) {
+        return endpoints.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(endpoint + " "))
+                .mapToLong(entry -> entry.getValue().count())
+                .sum();
+    }
+
+    public long count(String endpoint, int status) {
+        EndpointMetrics metrics = endpoints.get(endpoint + " " + status);
+        return metrics == null ? 0 : metrics.count();
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile, or -1 with no samples.
+     */
+    public long percentileMillis(String endpoint, int status, double percentile) {
+        EndpointMetrics metrics = endpoints.get(endpoint + " " + status);
+        return metrics == null ? -1 : metrics.percentileMillis(percentile);
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * Renders all series as JSON, ordered by endpoint and status.
+     */
+    public String toJson() {
+        ObjectNode json = MAPPER.createObjectNode();
+        ArrayNode bounds = json.putArray("bucketBoundsMillis");
+        for (long bound : BUCKET_BOUNDS_MILLIS) {
+            bounds.add(bound);
+        }
+        ArrayNode series = json.putArray("endpoints");
+        for (Map.Entry<String, EndpointMetrics> entry : new TreeMap<>(endpoints).entrySet()) {
+            String key = entry.getKey();
+            int split = key.lastIndexOf(' ');
+            EndpointMetrics metrics = entry.getValue();
+            ObjectNode node = series.addObject()
+                    .put("endpoint", key.substring(0, split))
+                    .put("status", Integer.parseInt(key.substring(split + 1)))
+                    .put("count", metrics.count())
+                    .put("totalMillis", metrics.totalMillis.sum())
+                    .put("p50Millis", metrics.percentileMillis(50))
+                    .put("p99Millis", metrics.percentileMillis(99));
+            ArrayNode buckets = node.putArray("buckets");
+            for (LongAdder bucket : metrics.buckets) {
+                buckets.add(bucket.sum());
+            }
+        }
+        try {
+            return MAPPER.writeValueAsString(json);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder();
+        new TreeMap<>(endpoints).forEach((key, metrics) -> summary.append(String.format("  %-24s n=%-9d p50<=%dms p99<=%dms%n",
+                key, metrics.count(), metrics.percentileMillis(50), metrics.percentileMillis(99))));
+        return summary.toString();
+    }
+
+    /**
+     * Collapses concrete paths onto the endpoint templates metrics are reported under.
+     * Paths outside the known templates share {@value #OTHER}, so stray URLs cannot grow
+     * the number of series.
+     */
+    static String endpointOf(String url) {
+        int query = url.indexOf('?');
+        String path = query < 0 ? url : url.substring(0, query);
+        switch (path) {
+            case "/users":
+            case "/users/batch":
+            case "/users/export":
+            case "/health":
+                return path;
+            default:
+                if (path.startsWith("/users/") && path.length() > "/users/".length()
+                        && path.indexOf('/', "/users/".length()) < 0) {
+                    return "/users/{id}";
+                }
+                return OTHER;
+        }
+    }
+
+    private static String key(String method, String endpoint, int status) {
+        return method + " " + endpoint + " " + status;
+    }
+
+    private static final class EndpointMetrics {
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MILLIS.length + 1];
+
+        EndpointMetrics() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long latencyMillis) {
+            totalMillis.add(latencyMillis);
+            buckets[bucketOf(latencyMillis)].increment();
+        }
+
+        long count() {
+            long count = 0;
+            for (LongAdder bucket : buckets) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+
+        long percentileMillis(double percentile) {
+            long[] counts = new long[buckets.length];
+            long total = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+            if (total == 0) {
+                return -1;
+            }
+            long rank = (long) Math.ceil(percentile / 100 * total);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return i < BUCKET_BOUNDS_MILLIS.length ? BUCKET_BOUNDS_MILLIS[i] : Long.MAX_VALUE;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        private static int bucketOf(long latencyMillis) {
+            for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+                if (latencyMillis <= BUCKET_BOUNDS_MILLIS[i]) {
+                    return i;
+                }
+            }
+            return BUCKET_BOUNDS_MILLIS.length;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.mock;
+
+import com.github.tomakehurst.wiremock.admin.Router;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.Timing;
+import com.github.tomakehurst.wiremock.core.Admin;
+import com.github.tomakehurst.wiremock.extension.AdminApiExtension;
+import com.github.tomakehurst.wiremock.extension.PostServeAction;
+import com.github.tomakehurst.wiremock.http.LoggedResponse;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+
+/**
+ * Feeds every served stub request into {@link MockMetrics} and publishes them on the
+ * admin API: {@code GET /__admin/metrics} returns JSON, {@code DELETE} resets them.
+ * Admin calls are not counted, and injected connection faults are recorded as status 0.
+ */
+public class MockMetricsExtension extends PostServeAction implements AdminApiExtension {
+
+    public static final String NAME = "mock-metrics";
+    public static final String ADMIN_PATH = "/metrics";
+
+    private final MockMetrics metrics;
+
+    public MockMetricsExtension(MockMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void doGlobalAction(ServeEvent serveEvent, Admin admin) {
+        LoggedRequest request = serveEvent.getRequest();
+        LoggedResponse response = serveEvent.getResponse();
+        int status = response.getFault() == null ? response.getStatus() : 0;
+        metrics.record(request.getMethod().getName(), request.getUrl(), status, latencyMillis(serveEvent.getTiming()));
+    }
+
+    /**
+     * Synchronous responses sleep through the injected delay while sending, so it is part
+     * of the serve time. Asynchronous responses are only scheduled by then, so the delay
+     * is added to the processing time instead.
+     */
+    private static long latencyMillis(Timing timing) {
+        return Math.max(timing.getServeTime(), timing.getAddedDelay() + timing.getProcessTime());
+    }
+
+    @Override
+    public void contributeAdminApiRoutes(Router router) {
+        router.add(RequestMethod.GET, ADMIN_PATH, (admin, request, pathParams) -> new ResponseDefinitionBuilder()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(metrics.toJson())
+                .build());
+        router.add(RequestMethod.DELETE, ADMIN_PATH, (admin, request, pathParams) -> {
+            metrics.reset();
+            return new ResponseDefinitionBuilder().withStatus(204).build();
+        });
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Named latency and fault behaviour for the user service endpoints, applied by
+ * {@link PerformanceProfileTransformer}. Delays are drawn from the caller's seeded
+ * random source so a run can be replayed exactly.
+ */
+public final class PerformanceProfile {
+
+    public enum Distribution { NONE, FIXED, UNIFORM, LOGNORMAL }
+
+    public static final PerformanceProfile FAST = builder("fast").build();
+
+    public static final PerformanceProfile P99_SPIKY = builder("p99-spiky")
+            .lognormalDelay(10, 1.2)
+            .maxDelayMillis(2000)
+            .build();
+
+    public static final PerformanceProfile SATURATED = builder("saturated")
+            .uniformDelay(200, 400)
+            .chunkedDribble(5, 200)
+            .build();
+
+    public static final PerformanceProfile FLAKY = builder("flaky")
+            .fixedDelay(20)
+            .errorRate(0.10)
+            .connectionResetRate(0.05)
+            .build();
+
+    private static final Map<String, PerformanceProfile> PROFILES = index(FAST, P99_SPIKY, SATURATED, FLAKY);
+
+    private final String name;
+    private final Distribution distribution;
+    private final double delayA;
+    private final double delayB;
+    private final long maxDelayMillis;
+    private final int dribbleChunks;
+    private final int dribbleMillis;
+    private final double errorRate;
+    private final double connectionResetRate;
+
+    private PerformanceProfile(Builder builder) {
+        this.name = builder.name;
+        this.distribution = builder.distribution;
+        this.delayA = builder.delayA;
+        this.delayB = builder.delayB;
+        this.maxDelayMillis = builder.maxDelayMillis;
+        this.dribbleChunks = builder.dribbleChunks;
+        this.dribbleMillis = builder.dribbleMillis;
+        this.errorRate = builder.errorRate;
+        this.connectionResetRate = builder.connectionResetRate;
+    }
+
+    public static PerformanceProfile named(String name) {
+        PerformanceProfile profile = PROFILES.get(name);
+        if (profile == null) {
+            throw new IllegalArgumentException("Unknown performance profile '" + name + "', expected one of " + PROFILES.keySet());
+        }
+        return profile;
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isPassThrough() {
+        return distribution == Distribution.NONE && dribbleChunks == 0 && errorRate == 0 && connectionResetRate == 0;
+    }
+
+    public boolean hasChunkedDribble() {
+        return dribbleChunks > 0;
+    }
+
+    public int getDribbleChunks() {
+        return dribbleChunks;
+    }
+
+    public int getDribbleMillis() {
+        return dribbleMillis;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public double getConnectionResetRate() {
+        return connectionResetRate;
+    }
+
+    long sampleDelayMillis(SplittableRandom random) {
+        double delay;
+        switch (distribution) {
+            case FIXED:
+                delay = delayA;
+                break;
+            case UNIFORM:
+                delay = delayA + random.nextDouble() * (delayB - delayA);
+                break;
+            case LOGNORMAL:
+                delay = delayA * Math.exp(delayB * random.nextGaussian());
+                break;
+            default:
+                return 0;
+        }
+        return Math.min(maxDelayMillis, Math.max(0, Math.round(delay)));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static Map<String, PerformanceProfile> index(PerformanceProfile... profiles) {
+        Map<String, PerformanceProfile> byName = new LinkedHashMap<>();
+        Arrays.stream(profiles).forEach(profile -> byName.put(profile.getName(), profile));
+        return Collections.unmodifiableMap(byName);
+    }
+
+    public static class Builder {
+        private final String name;
+        private Distribution distribution = Distribution.NONE;
+        private double delayA;
+        private double delayB;
+        private long maxDelayMillis = Long.MAX_VALUE;
+        private int dribbleChunks;
+        private int dribbleMillis;
+        private double errorRate;
+        private double connectionResetRate;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder fixedDelay(long millis) {
+            return delay(Distribution.FIXED, millis, millis);
+        }
+
+        public Builder uniformDelay(long lowerMillis, long upperMillis) {
+            return delay(Distribution.UNIFORM, lowerMillis, upperMillis);
+        }
+
+        /**
+         * Lognormal delay with the given median; {@code sigma} widens the tail.
+         */
+        public Builder lognormalDelay(double medianMillis, double sigma) {
+            return delay(Distribution.LOGNORMAL, medianMillis, sigma);
+        }
+
+        public Builder maxDelayMillis(long maxDelayMillis) {
+            this.maxDelayMillis = maxDelayMillis;
+            return this;
+        }
+
+        public Builder chunkedDribble(int chunks, int totalMillis) {
+            this.dribbleChunks = chunks;
+            this.dribbleMillis = totalMillis;
+            return this;
+        }
+
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public Builder connectionResetRate(double connectionResetRate) {
+            this.connectionResetRate = connectionResetRate;
+            return this;
+        }
+
+        public PerformanceProfile build() {
+            if (errorRate + connectionResetRate > 1) {
+                throw new IllegalArgumentException("Error and connection reset rates exceed 1 for profile " + name);
+            }
+            return new PerformanceProfile(this);
+        }
+
+        private Builder delay(Distribution distribution, double a, double b) {
+            this.distribution = distribution;
+            this.delayA = a;
+            this.delayB = b;
+            return this;
+        }
+    }
+}
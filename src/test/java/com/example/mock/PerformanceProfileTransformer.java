@@ -0,0 +1,82 @@
+package com.example.mock;
+
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
+import com.github.tomakehurst.wiremock.http.ChunkedDribbleDelay;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.Response;
+
+import java.util.SplittableRandom;
+
+/**
+ * Applies the active {@link PerformanceProfile} to every {@code /users} and {@code /health}
+ * response. Registered after the other extensions so it sees their final response.
+ *
+ * <p>Outcomes come from a single seeded {@link SplittableRandom}, drawn under a lock, so
+ * the same seed and request sequence always yields the same delays and faults.
+ */
+public class PerformanceProfileTransformer extends ResponseTransformer {
+
+    public static final String NAME = "performance-profile";
+
+    private final Object lock = new Object();
+    private volatile PerformanceProfile profile = PerformanceProfile.FAST;
+    private SplittableRandom random = new SplittableRandom();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    public void use(PerformanceProfile profile, long seed) {
+        synchronized (lock) {
+            this.random = new SplittableRandom(seed);
+            this.profile = profile;
+        }
+    }
+
+    public PerformanceProfile getProfile() {
+        return profile;
+    }
+
+    @Override
+    public Response transform(Request request, Response response, FileSource files, Parameters parameters) {
+        PerformanceProfile active = profile;
+        if (active.isPassThrough() || !isProfiled(request.getUrl())) {
+            return response;
+        }
+
+        double roll;
+        long delayMillis;
+        synchronized (lock) {
+            active = profile;
+            roll = random.nextDouble();
+            delayMillis = active.sampleDelayMillis(random);
+        }
+
+        Response.Builder builder = Response.Builder.like(response).but().incrementInitialDelay(delayMillis);
+        if (roll < active.getConnectionResetRate()) {
+            return builder.fault(Fault.CONNECTION_RESET_BY_PEER).build();
+        }
+        if (roll < active.getConnectionResetRate() + active.getErrorRate()) {
+            return builder
+                    .status(503)
+                    .headers(new HttpHeaders(new HttpHeader("Content-Type", "application/json")))
+                    .body(UserStoreTransformer.errorBody("Service Unavailable", "Injected by profile " + active.getName(), null))
+                    .build();
+        }
+        // Dribbling buffers the whole body, which would defeat the streamed export
+        if (active.hasChunkedDribble() && !request.getUrl().startsWith("/users/export")) {
+            builder.chunkedDribbleDelay(new ChunkedDribbleDelay(active.getDribbleChunks(), active.getDribbleMillis()));
+        }
+        return builder.build();
+    }
+
+    private static boolean isProfiled(String url) {
+        return url.startsWith("/users") || url.startsWith("/health");
+    }
+}
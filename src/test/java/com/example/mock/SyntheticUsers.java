@@ -0,0 +1,27 @@
+package com.example.mock;
+
+import com.example.models.User;
+
+/**
+ * Deterministic synthetic users addressed by index, used to back listing and export
+ * endpoints with very large populations that are never held in memory.
+ */
+public final class SyntheticUsers {
+
+    private SyntheticUsers() {
+    }
+
+    public static String id(long index) {
+        return String.format("user-%09d", index);
+    }
+
+    public static User user(long index) {
+        return User.builder()
+                .id(id(index))
+                .firstName("First" + index)
+                .lastName("Last" + index)
+                .email("user" + index + "@example.com")
+                .age(18 + (int) (index % 60))
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.mock;
+
+import com.example.models.User;
+import com.example.models.UserValidator;
+import com.example.models.ValidationResult;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serves {@code POST /users/batch}. The body may be a JSON array or an NDJSON stream of
+ * users; items are parsed and validated one at a time and a per-item result is written
+ * as each is processed. Items are checked with {@link UserValidator}. IDs share one
+ * batch prefix followed by the item index.
+ *
+ * <p>Valid users are only stored once the whole batch has parsed, so a malformed item
+ * rejects the batch without leaving earlier items behind.
+ */
+public class UserBatchTransformer extends ResponseDefinitionTransformer {
+
+    public static final String NAME = "user-batch";
+
+    private final UserStore userStore;
+    private final UserCodec codec;
+    private final UserValidator validator = UserValidator.getInstance();
+
+    public UserBatchTransformer(UserStore userStore) {
+        this(userStore, UserCodec.shared());
+    }
+
+    public UserBatchTransformer(UserStore userStore, UserCodec codec) {
+        this.userStore = userStore;
+        this.codec = codec;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    @Override
+    public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition,
+                                        FileSource files, Parameters parameters) {
+        byte[] body = request.getBody();
+        ByteArrayOutputStream results = new ByteArrayOutputStream(Math.max(256, body.length / 2));
+        int index = 0;
+        try (JsonParser parser = codec.parser(new ByteArrayInputStream(body));
+             JsonGenerator generator = codec.generator(results)) {
+            String batchPrefix = UUID.randomUUID().toString();
+            List<User> accepted = new ArrayList<>();
+
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("results");
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            for (; token == JsonToken.START_OBJECT; token = parser.nextToken(), index++) {
+                User user = codec.read(parser);
+                generator.writeStartObject();
+                generator.writeNumberField("index", index);
+                ValidationResult validation = validator.validate(user);
+                if (validation.isValid()) {
+                    user.setId(batchPrefix + "-" + index);
+                    accepted.add(user);
+                    generator.writeNumberField("status", 201);
+                    generator.writeStringField("id", user.getId());
+                } else {
+                    generator.writeNumberField("status", 400);
+                    generator.writeStringField("error", "Validation Error");
+                    generator.writeStringField("message", validation.getMessage());
+                    generator.writeArrayFieldStart("violations");
+                    for (UserValidator.Violation violation : validation.getViolations()) {
+                        generator.writeString(violation.name());
+                    }
+                    generator.writeEndArray();
+                }
+                generator.writeEndObject();
+            }
+            if (token != null && token != JsonToken.END_ARRAY) {
+                throw new IOException("Unexpected token " + token);
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("created", accepted.size());
+            generator.writeNumberField("failed", index - accepted.size());
+            generator.writeEndObject();
+            for (User user : accepted) {
+                userStore.save(user);
+            }
+        } catch (IOException e) {
+            return UserStoreTransformer.error(400, "Bad Request", "Malformed batch payload at item " + index);
+        }
+
+        return new ResponseDefinitionBuilder()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(results.toByteArray())
+                .build();
+    }
+}
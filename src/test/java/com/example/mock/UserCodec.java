@@ -0,0 +1,190 @@
+package com.example.mock;
+
+import com.example.models.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared, thread-safe JSON codec for {@link User}. Writers and readers are built once,
+ * and encoded bodies of stored users are kept with their entity tags in a bounded LRU
+ * cache keyed by version, so hot responses are served without re-encoding or re-hashing.
+ */
+public final class UserCodec {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int STRIPES = 16;
+    private static final UserCodec SHARED = new UserCodec(Integer.getInteger("mock.codec.cacheSize", 16_384));
+
+    private final ObjectWriter writer = OBJECT_MAPPER.writerFor(User.class);
+    private final ObjectReader reader = OBJECT_MAPPER.readerFor(User.class);
+    private final Map<Long, EncodedUser>[] stripes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public UserCodec(int maxCachedBodies) {
+        int perStripe = Math.max(1, maxCachedBodies / STRIPES);
+        stripes = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new LinkedHashMap<Long, EncodedUser>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, EncodedUser> eldest) {
+                    if (size() > perStripe) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    public static UserCodec shared() {
+        return SHARED;
+    }
+
+    public byte[] encode(User user) {
+        try {
+            return writer.writeValueAsBytes(user);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode user " + user.getId(), e);
+        }
+    }
+
+    public byte[] encode(VersionedUser user) {
+        return encoded(user).getBody();
+    }
+
+    /**
+     * The body and entity tag of a stored user version, from the cache when possible.
+     */
+    public EncodedUser encoded(VersionedUser user) {
+        Long key = user.getVersion();
+        Map<Long, EncodedUser> stripe = stripes[(int) (user.getVersion() & (STRIPES - 1))];
+        synchronized (stripe) {
+            EncodedUser cached = stripe.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        EncodedUser encoded = new EncodedUser(encode(user.snapshot()));
+        synchronized (stripe) {
+            stripe.put(key, encoded);
+        }
+        return encoded;
+    }
+
+    public User decode(byte[] body) throws IOException {
+        return reader.readValue(body);
+    }
+
+    /**
+     * Applies a JSON Merge Patch (RFC 7396) to {@code target}. The patch is read as a tree,
+     * so a field set to {@code null}, which is removed, stays distinct from an absent
+     * field, which is kept. Returns the merged document for the caller to validate and
+     * decode.
+     *
+     * @throws IOException if the patch is not a JSON object
+     */
+    public ObjectNode mergePatch(User target, byte[] patch) throws IOException {
+        JsonNode patchTree = OBJECT_MAPPER.readTree(patch);
+        if (patchTree == null || !patchTree.isObject()) {
+            // A non-object patch would replace the whole user, which can never be a valid one
+            throw new IOException("Merge patch must be a JSON object");
+        }
+        return (ObjectNode) merge(OBJECT_MAPPER.valueToTree(target), patchTree);
+    }
+
+    private static JsonNode merge(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+        ObjectNode merged = target != null && target.isObject() ? (ObjectNode) target : OBJECT_MAPPER.createObjectNode();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = patch.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isNull()) {
+                merged.remove(field.getKey());
+            } else {
+                merged.set(field.getKey(), merge(merged.get(field.getKey()), field.getValue()));
+            }
+        }
+        return merged;
+    }
+
+    public JsonGenerator generator(OutputStream out) {
+        try {
+            return OBJECT_MAPPER.getFactory().createGenerator(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void write(JsonGenerator generator, User user) throws IOException {
+        writer.writeValue(generator, user);
+    }
+
+    public JsonParser parser(InputStream in) throws IOException {
+        return OBJECT_MAPPER.getFactory().createParser(in);
+    }
+
+    public User read(JsonParser parser) throws IOException {
+        return reader.readValue(parser);
+    }
+
+    public ObjectReader reader() {
+        return reader;
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    public static final class Stats {
+
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        Stats(long hits, long misses, long evictions) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.mock;
+
+import com.example.models.User;
+import com.example.models.UserValidator;
+import com.example.models.UserValidator.Violation;
+
+import java.util.Locale;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Seeded, reproducible {@link User} data for data-driven scenarios. Every field of the
+ * user at a given index is derived from {@code (seed, index)} alone, so users are
+ * produced lazily in any order, nothing is retained between them and the same seed
+ * always yields the same population.
+ *
+ * <p>A configurable share of users is invalid. Each of those breaks exactly one
+ * {@link UserValidator} rule, so the expected rejection is known up front. Valid users
+ * span the whole accepted age range including its bounds.
+ */
+public final class UserGenerator {
+
+    public static final double DEFAULT_INVALID_RATIO = 0.2;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final Violation[] VIOLATIONS = Violation.values();
+
+    private static final String[] FIRST_NAMES = {
+            "John", "Jane", "Alice", "Bob", "Emma", "Michael", "Sarah", "David",
+            "Olivia", "Liam", "Sofia", "Noah", "Maya", "Lucas", "Chloe", "Ethan"};
+    private static final String[] LAST_NAMES = {
+            "Doe", "Smith", "Johnson", "Brown", "Wilson", "Davis", "Miller", "Taylor",
+            "Anderson", "Thomas", "Moore", "Martin", "Lee", "Walker", "Young", "King"};
+    private static final String[] FIRST_NAME_LOCALS = lowerCase(FIRST_NAMES);
+    private static final String[] LAST_NAME_LOCALS = lowerCase(LAST_NAMES);
+    private static final String[] DOMAINS = {
+            "email.com", "example.com", "company.org", "test.net", "example.co.uk", "mail.example.io"};
+
+    private static final String[] BLANK_NAMES = {"", " ", "\t", null};
+    private static final String[] INVALID_EMAILS = {
+            "invalid-email", "john@", "@email.com", "john@email", "john doe@email.com",
+            "john@@email.com", "john@email.c", null};
+
+    private final long seed;
+    private final double invalidRatio;
+
+    public UserGenerator(long seed) {
+        this(seed, DEFAULT_INVALID_RATIO);
+    }
+
+    /**
+     * @param invalidRatio share of users, from 0 to 1, that break one validation rule
+     */
+    public UserGenerator(long seed, double invalidRatio) {
+        if (invalidRatio < 0 || invalidRatio > 1) {
+            throw new IllegalArgumentException("Invalid user ratio must be between 0 and 1, was " + invalidRatio);
+        }
+        this.seed = seed;
+        this.invalidRatio = invalidRatio;
+    }
+
+    /**
+     * The first {@code count} users, generated as the stream is consumed.
+     */
+    public Stream<GeneratedUser> stream(long count) {
+        return LongStream.range(0, count).mapToObj(this::generate);
+    }
+
+    public GeneratedUser generate(long index) {
+        long state = mix(seed + mix(index * GOLDEN_GAMMA));
+        int first = pick(draw(state, 0), FIRST_NAMES.length);
+        int last = pick(draw(state, 1), LAST_NAMES.length);
+        User user = User.builder()
+                .firstName(FIRST_NAMES[first])
+                .lastName(LAST_NAMES[last])
+                .email(FIRST_NAME_LOCALS[first] + '.' + LAST_NAME_LOCALS[last] + index
+                        + '@' + DOMAINS[pick(draw(state, 2), DOMAINS.length)])
+                .age(UserValidator.MIN_AGE + pick(draw(state, 3), UserValidator.MAX_AGE - UserValidator.MIN_AGE + 1))
+                .build();
+
+        // Top 53 bits as a uniform double in [0, 1)
+        if ((draw(state, 4) >>> 11) * 0x1.0p-53 >= invalidRatio) {
+            return new GeneratedUser(index, user, null);
+        }
+        Violation violation = VIOLATIONS[pick(draw(state, 5), VIOLATIONS.length)];
+        long variant = draw(state, 6);
+        switch (violation) {
+            case FIRST_NAME_REQUIRED:
+                user.setFirstName(BLANK_NAMES[pick(variant, BLANK_NAMES.length)]);
+                break;
+            case LAST_NAME_REQUIRED:
+                user.setLastName(BLANK_NAMES[pick(variant, BLANK_NAMES.length)]);
+                break;
+            case INVALID_EMAIL:
+                user.setEmail(INVALID_EMAILS[pick(variant, INVALID_EMAILS.length)]);
+                break;
+            case INVALID_AGE:
+                int outOfRange = 1 + pick(variant >>> 1, 1000);
+                user.setAge((variant & 1) == 0 ? UserValidator.MIN_AGE - outOfRange : UserValidator.MAX_AGE + outOfRange);
+                break;
+            default:
+                user.setAge(null);
+        }
+        return new GeneratedUser(index, user, violation);
+    }
+
+    private static long draw(long state, int field) {
+        return mix(state + (field + 1) * GOLDEN_GAMMA);
+    }
+
+    private static int pick(long bits, int bound) {
+        return (int) Math.floorMod(bits, (long) bound);
+    }
+
+    // SplitMix64 finaliser
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String[] lowerCase(String[] names) {
+        String[] lower = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            lower[i] = names[i].toLowerCase(Locale.ROOT);
+        }
+        return lower;
+    }
+
+    /**
+     * A generated user and the single violation it was built to trigger, if any.
+     */
+    public static final class GeneratedUser {
+        private final long index;
+        private final User user;
+        private final Violation expectedViolation;
+
+        GeneratedUser(long index, User user, Violation expectedViolation) {
+            this.index = index;
+            this.user = user;
+            this.expectedViolation = expectedViolation;
+        }
+
+        public long getIndex() {
+            return index;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public boolean isValid() {
+            return expectedViolation == null;
+        }
+
+        public Violation getExpectedViolation() {
+            return expectedViolation;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.mock;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.common.InputStreamSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.QueryParameter;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.Response;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Serves {@code GET /users} (cursor pagination) and {@code GET /users/export} (NDJSON)
+ * over the synthetic population of a {@link UserStore}. Bodies are generated as the
+ * client reads them and are never materialized in full.
+ */
+public class UserListingTransformer extends ResponseTransformer {
+
+    public static final String NAME = "user-listing";
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    private static final int USERS_PER_CHUNK = 256;
+    private static final String CURSOR_PREFIX = "offset:";
+
+    private final UserStore userStore;
+    private final UserCodec codec;
+
+    public UserListingTransformer(UserStore userStore) {
+        this(userStore, UserCodec.shared());
+    }
+
+    public UserListingTransformer(UserStore userStore, UserCodec codec) {
+        this.userStore = userStore;
+        this.codec = codec;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    @Override
+    public Response transform(Request request, Response response, FileSource files, Parameters parameters) {
+        long total = userStore.getSyntheticUsers();
+        if (request.getUrl().startsWith("/users/export")) {
+            return streamed(response, "application/x-ndjson", () -> new ExportStream(codec, total));
+        }
+
+        int limit;
+        long offset;
+        try {
+            limit = Math.min(MAX_PAGE_SIZE, intParameter(request, "limit", DEFAULT_PAGE_SIZE));
+            offset = decodeCursor(request.queryParameter("cursor"), total);
+        } catch (IllegalArgumentException e) {
+            return Response.Builder.like(response).but()
+                    .status(400)
+                    .headers(new HttpHeaders(new HttpHeader("Content-Type", "application/json")))
+                    .body(UserStoreTransformer.errorBody("Bad Request", e.getMessage(), null))
+                    .build();
+        }
+        long end = Math.min(total, offset + Math.max(1, limit));
+        return streamed(response, "application/json", () -> new PageStream(codec, offset, end, total));
+    }
+
+    private static Response streamed(Response response, String contentType,
+                                     InputStreamSource body) {
+        return Response.Builder.like(response).but()
+                .status(200)
+                .headers(new HttpHeaders(new HttpHeader("Content-Type", contentType)))
+                .body(body)
+                .build();
+    }
+
+    static String encodeCursor(long offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + offset).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Offsets outside [0, total] would page through users that do not exist
+    private static long decodeCursor(QueryParameter cursor, long total) {
+        if (cursor == null || !cursor.isPresent()) {
+            return 0;
+        }
+        long offset;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor.firstValue()), StandardCharsets.US_ASCII);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            offset = Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (offset < 0 || offset > total) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return offset;
+    }
+
+
+    private static int intParameter(Request request, String name, int defaultValue) {
+        QueryParameter parameter = request.queryParameter(name);
+        if (parameter == null || !parameter.isPresent()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(parameter.firstValue());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name);
+        }
+    }
+
+    private static final class ExportStream extends ChunkedJsonStream {
+
+        private final UserCodec codec;
+        private final long total;
+        private long next;
+
+        ExportStream(UserCodec codec, long total) {
+            super(codec);
+            this.codec = codec;
+            this.total = total;
+        }
+
+        @Override
+        protected boolean writeNextChunk(JsonGenerator generator) throws IOException {
+            long end = Math.min(total, next + USERS_PER_CHUNK);
+            for (; next < end; next++) {
+                codec.write(generator, SyntheticUsers.user(next));
+                generator.writeRaw('\n');
+            }
+            return next < total;
+        }
+    }
+
+    private static final class PageStream extends ChunkedJsonStream {
+
+        private final UserCodec codec;
+        private final long end;
+        private final long total;
+        private long next;
+        private boolean started;
+
+        PageStream(UserCodec codec, long offset, long end, long total) {
+            super(codec);
+            this.codec = codec;
+            this.next = offset;
+            this.end = end;
+            this.total = total;
+        }
+
+        @Override
+        protected boolean writeNextChunk(JsonGenerator generator) throws IOException {
+            if (!started) {
+                started = true;
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("users");
+            }
+            long chunkEnd = Math.min(end, next + USERS_PER_CHUNK);
+            for (; next < chunkEnd; next++) {
+                codec.write(generator, SyntheticUsers.user(next));
+            }
+            if (next < end) {
+                return true;
+            }
+            generator.writeEndArray();
+            if (end < total) {
+                generator.writeStringField("nextCursor", encodeCursor(end));
+            }
+            generator.writeEndObject();
+            return false;
+        }
+    }
+}
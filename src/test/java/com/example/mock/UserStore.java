@@ -0,0 +1,95 @@
+package com.example.mock;
+
+import com.example.models.User;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe in-memory user repository backing the mock user service.
+ * Users are copied on the way in and every write produces a new {@link VersionedUser}.
+ */
+public class UserStore {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final ConcurrentMap<String, VersionedUser> users = new ConcurrentHashMap<>();
+    private volatile long syntheticUsers;
+
+    public VersionedUser create(User user) {
+        VersionedUser created = versionOf(user, UUID.randomUUID().toString());
+        users.put(created.getId(), created);
+        return created;
+    }
+
+    public VersionedUser save(User user) {
+        VersionedUser saved = versionOf(user, user.getId());
+        users.put(saved.getId(), saved);
+        return saved;
+    }
+
+    public Optional<VersionedUser> find(String id) {
+        return Optional.ofNullable(users.get(id));
+    }
+
+    public Optional<VersionedUser> update(String id, User user) {
+        return Optional.ofNullable(users.computeIfPresent(id, (key, existing) -> versionOf(user, key)));
+    }
+
+    /**
+     * Replaces a user only while it is still at {@code expected}; empty if another write
+     * got there first.
+     */
+    public Optional<VersionedUser> replace(VersionedUser expected, User user) {
+        VersionedUser replacement = versionOf(user, expected.getId());
+        return users.replace(expected.getId(), expected, replacement) ? Optional.of(replacement) : Optional.empty();
+    }
+
+    public boolean delete(String id) {
+        return users.remove(id) != null;
+    }
+
+    /**
+     * Deletes a user only while it is still at {@code expected}.
+     */
+    public boolean delete(VersionedUser expected) {
+        return users.remove(expected.getId(), expected);
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    /**
+     * Sets how many {@link SyntheticUsers} the listing and export endpoints serve.
+     */
+    public void setSyntheticUsers(long count) {
+        this.syntheticUsers = count;
+    }
+
+    public long getSyntheticUsers() {
+        return syntheticUsers;
+    }
+
+    public void clear() {
+        users.clear();
+        syntheticUsers = 0;
+    }
+
+    private static VersionedUser versionOf(User user, String id) {
+        return new VersionedUser(copyOf(user, id), VERSIONS.incrementAndGet());
+    }
+
+    static User copyOf(User user, String id) {
+        return User.builder()
+                .id(id)
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .age(user.getAge())
+                .build();
+    }
+}
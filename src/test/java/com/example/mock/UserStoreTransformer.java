@@ -0,0 +1,330 @@
+package com.example.mock;
+
+import com.example.models.ErrorResponse;
+import com.example.models.User;
+import com.example.models.UserValidator;
+import com.example.models.ValidationResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Serves POST/GET/PUT/PATCH/DELETE on {@code /users} from a {@link UserStore}, so a
+ * fixed handful of mappings covers every user regardless of scenario count.
+ * POST and PUT payloads, and users after a PATCH, are checked with {@link UserValidator}.
+ *
+ * <p>PATCH takes an {@code application/merge-patch+json} document: fields it names are
+ * replaced, fields set to {@code null} are removed and all others are kept.
+ *
+ * <p>User responses carry a content-hash {@code ETag}. GET honours {@code If-None-Match}
+ * with {@code 304 Not Modified}, PUT, PATCH and DELETE honour {@code If-Match} with
+ * {@code 412 Precondition Failed}, and bodies are gzipped for clients that accept it.
+ */
+public class UserStoreTransformer extends ResponseDefinitionTransformer {
+
+    public static final String NAME = "user-store";
+
+    private static final String USERS_PATH = "/users";
+    private static final String ETAG = "ETag";
+    private static final String IF_MATCH = "If-Match";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String VARY = "Vary";
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    private static final ObjectWriter ERROR_WRITER = new ObjectMapper().writerFor(ErrorResponse.class);
+
+    private final UserStore userStore;
+    private final UserCodec codec;
+    private final UserValidator validator = UserValidator.getInstance();
+
+    public UserStoreTransformer(UserStore userStore) {
+        this(userStore, UserCodec.shared());
+    }
+
+    public UserStoreTransformer(UserStore userStore, UserCodec codec) {
+        this.userStore = userStore;
+        this.codec = codec;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    @Override
+    public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition,
+                                        FileSource files, Parameters parameters) {
+        String path = pathOf(request);
+        String userId = path.length() > USERS_PATH.length() + 1 ? path.substring(USERS_PATH.length() + 1) : null;
+
+        switch (request.getMethod().getName()) {
+            case "POST":
+                return userId == null ? create(request) : notFound(userId);
+            case "GET":
+                return userId == null ? notFound("") : read(userId, request);
+            case "PUT":
+                return userId == null ? notFound("") : update(userId, request);
+            case "PATCH":
+                return userId == null ? notFound("") : patch(userId, request);
+            case "DELETE":
+                return userId == null ? notFound("") : delete(userId, request);
+            default:
+                return new ResponseDefinitionBuilder().withStatus(405).build();
+        }
+    }
+
+    private ResponseDefinition create(Request request) {
+        User user = readUser(request);
+        if (user == null) {
+            return malformedPayload();
+        }
+        ValidationResult validation = validator.validate(user);
+        if (!validation.isValid()) {
+            return validationError(validation);
+        }
+        return json(201, userStore.create(user), request);
+    }
+
+    private ResponseDefinition read(String userId, Request request) {
+        Optional<VersionedUser> found = userStore.find(userId);
+        if (found.isEmpty()) {
+            return notFound(userId);
+        }
+        EncodedUser encoded = codec.encoded(found.get());
+        if (matchesWeakly(headerValue(request, IF_NONE_MATCH), encoded.getEtag())) {
+            return new ResponseDefinitionBuilder()
+                    .withStatus(304)
+                    .withHeader(ETAG, encoded.getEtag())
+                    .withHeader(VARY, ACCEPT_ENCODING)
+                    .build();
+        }
+        return json(200, encoded, request);
+    }
+
+    private ResponseDefinition update(String userId, Request request) {
+        String ifMatch = headerValue(request, IF_MATCH);
+        Optional<VersionedUser> current = ifMatch == null ? Optional.empty() : userStore.find(userId);
+        if (ifMatch != null && !current.map(found -> matchesStrongly(ifMatch, codec.encoded(found).getEtag())).orElse(false)) {
+            return preconditionFailed(userId);
+        }
+        User user = readUser(request);
+        if (user == null) {
+            return malformedPayload();
+        }
+        ValidationResult validation = validator.validate(user);
+        if (!validation.isValid()) {
+            return validationError(validation);
+        }
+        if (ifMatch != null) {
+            // The user may have changed since the tag was checked; only replace the version that matched
+            return userStore.replace(current.get(), user)
+                    .map(replaced -> json(200, replaced, request))
+                    .orElseGet(() -> preconditionFailed(userId));
+        }
+        return userStore.update(userId, user)
+                .map(updated -> json(200, updated, request))
+                .orElseGet(() -> notFound(userId));
+    }
+
+    private ResponseDefinition patch(String userId, Request request) {
+        String contentType = headerValue(request, "Content-Type");
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith(MERGE_PATCH_JSON)) {
+            return error(415, "Unsupported Media Type", "PATCH requires " + MERGE_PATCH_JSON);
+        }
+        String ifMatch = headerValue(request, IF_MATCH);
+        while (true) {
+            Optional<VersionedUser> current = userStore.find(userId);
+            if (current.isEmpty()) {
+                return ifMatch == null ? notFound(userId) : preconditionFailed(userId);
+            }
+            if (ifMatch != null && !matchesStrongly(ifMatch, codec.encoded(current.get()).getEtag())) {
+                return preconditionFailed(userId);
+            }
+            User patched;
+            try {
+                ObjectNode merged = codec.mergePatch(current.get().snapshot(), request.getBody());
+                patched = codec.reader().readValue(merged);
+            } catch (IOException e) {
+                return malformedPayload();
+            }
+            ValidationResult validation = validator.validate(patched);
+            if (!validation.isValid()) {
+                return validationError(validation);
+            }
+            Optional<VersionedUser> replaced = userStore.replace(current.get(), patched);
+            if (replaced.isPresent()) {
+                return json(200, replaced.get(), request);
+            }
+            if (ifMatch != null) {
+                return preconditionFailed(userId);
+            }
+            // Another write landed since the read; patch the newer version instead
+        }
+    }
+
+    private ResponseDefinition delete(String userId, Request request) {
+        String ifMatch = headerValue(request, IF_MATCH);
+        boolean deleted;
+        if (ifMatch == null) {
+            deleted = userStore.delete(userId);
+        } else {
+            Optional<VersionedUser> current = userStore.find(userId);
+            if (current.isEmpty() || !matchesStrongly(ifMatch, codec.encoded(current.get()).getEtag())
+                    || !userStore.delete(current.get())) {
+                return preconditionFailed(userId);
+            }
+            deleted = true;
+        }
+        return deleted ? new ResponseDefinitionBuilder().withStatus(204).build() : notFound(userId);
+    }
+
+    private User readUser(Request request) {
+        try {
+            return codec.decode(request.getBody());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private ResponseDefinition json(int status, VersionedUser user, Request request) {
+        return json(status, codec.encoded(user), request);
+    }
+
+    private static ResponseDefinition json(int status, EncodedUser user, Request request) {
+        ResponseDefinitionBuilder response = new ResponseDefinitionBuilder()
+                .withStatus(status)
+                .withHeader("Content-Type", "application/json")
+                .withHeader(ETAG, user.getEtag())
+                .withHeader(VARY, ACCEPT_ENCODING);
+        if (acceptsGzip(headerValue(request, ACCEPT_ENCODING))) {
+            return response.withHeader(CONTENT_ENCODING, "gzip").withBody(user.getGzippedBody()).build();
+        }
+        return response.withBody(user.getBody()).build();
+    }
+
+    private static ResponseDefinition notFound(String userId) {
+        return error(404, "User not found", "User with ID " + userId + " does not exist");
+    }
+
+    private static ResponseDefinition preconditionFailed(String userId) {
+        return error(412, "Precondition Failed", "User with ID " + userId + " does not match If-Match");
+    }
+
+    private static ResponseDefinition malformedPayload() {
+        return error(400, "Bad Request", "Malformed user payload");
+    }
+
+    static ResponseDefinition validationError(ValidationResult validation) {
+        List<String> violations = new ArrayList<>(validation.getViolations().size());
+        for (UserValidator.Violation violation : validation.getViolations()) {
+            violations.add(violation.name());
+        }
+        return error(400, "Validation Error", validation.getMessage(), violations);
+    }
+
+    static ResponseDefinition error(int status, String error, String message) {
+        return error(status, error, message, null);
+    }
+
+    private static ResponseDefinition error(int status, String error, String message, List<String> violations) {
+        return new ResponseDefinitionBuilder()
+                .withStatus(status)
+                .withHeader("Content-Type", "application/json")
+                .withBody(errorBody(error, message, violations))
+                .build();
+    }
+
+    /**
+     * An {@link ErrorResponse} body, for mock extensions that build their own responses.
+     */
+    static byte[] errorBody(String error, String message, List<String> violations) {
+        ErrorResponse body = new ErrorResponse();
+        body.setError(error);
+        body.setMessage(message);
+        body.setViolations(violations);
+        try {
+            return ERROR_WRITER.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Whether an {@code If-Match} list names {@code etag}. RFC 7232 requires the strong
+     * comparison here, so weak ({@code W/}) tags never match.
+     */
+    static boolean matchesStrongly(String header, String etag) {
+        return matches(header, etag, false);
+    }
+
+    /**
+     * Whether an {@code If-None-Match} list names {@code etag}, comparing weakly.
+     */
+    static boolean matchesWeakly(String header, String etag) {
+        return matches(header, etag, true);
+    }
+
+    private static boolean matches(String header, String etag, boolean weak) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                if (!weak) {
+                    continue;
+                }
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static String headerValue(Request request, String name) {
+        HttpHeader header = request.header(name);
+        return header.isPresent() ? String.join(",", header.values()) : null;
+    }
+
+    private static String pathOf(Request request) {
+        String url = request.getUrl();
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
+    }
+}
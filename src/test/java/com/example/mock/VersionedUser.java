@@ -0,0 +1,35 @@
+package com.example.mock;
+
+import com.example.models.User;
+
+/**
+ * Immutable snapshot of a stored user. Versions come from a JVM-wide sequence, so a
+ * version number alone identifies one revision of one user across every store.
+ */
+public final class VersionedUser {
+
+    private final User snapshot;
+    private final long version;
+
+    VersionedUser(User snapshot, long version) {
+        this.snapshot = snapshot;
+        this.version = version;
+    }
+
+    public String getId() {
+        return snapshot.getId();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public User getUser() {
+        return UserStore.copyOf(snapshot, snapshot.getId());
+    }
+
+    // Shared, never-mutated instance for encoders inside this package
+    User snapshot() {
+        return snapshot;
+    }
+}
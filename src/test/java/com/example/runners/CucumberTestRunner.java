@@ -10,7 +10,7 @@ import static io.cucumber.junit.platform.engine.Constants.*;
 @Suite
 @IncludeEngines("cucumber")
 @SelectClasspathResource("features")
-@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty")
+@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty, com.example.timing.StepTimingPlugin:build/reports/step-timings")
 @ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "com.example.stepdefs")
 @ConfigurationParameter(key = "cucumber.publish.quiet", value = "false")
 public class CucumberTestRunner {
@@ -0,0 +1,294 @@
+package com.example.runners;
+
+import com.example.config.TestConfiguration;
+import com.example.contracts.ContractValidator;
+import com.example.contracts.ContractValidator.Contract;
+import com.example.mock.UserCodec;
+import com.example.models.User;
+import com.example.timing.RunSummary;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays the user CRUD flows against the mock at a fixed, open-loop arrival rate.
+ * Latency is measured from each request's intended start time, so queueing behind
+ * a stalled server is counted rather than hidden (coordinated omission).
+ *
+ * <p>Configured through system properties, e.g.
+ * {@code ./gradlew loadTest -Dload.rate=50000 -Dload.duration=60 -Dload.mix=create=25,get=50,update=15,delete=10}.
+ * The results are written to {@code -Dload.report} (default
+ * {@code build/reports/load/load-summary.txt}).
+ */
+public class LoadGenerationRunner {
+
+    enum Operation { CREATE, GET, UPDATE, DELETE }
+
+    private static final UserCodec CODEC = UserCodec.shared();
+    private static final ContractValidator CONTRACTS = ContractValidator.shared();
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String baseUrl;
+    private final int rate;
+    private final Duration duration;
+    private final Map<Operation, Integer> mix;
+    private final int seedUsers;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Histogram overall = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Map<Operation, Histogram> byOperation = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> failures = new EnumMap<>(Operation.class);
+    private final Histogram failed = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Queue<String> createdIds = new ConcurrentLinkedQueue<>();
+
+    public LoadGenerationRunner(String baseUrl, int rate, Duration duration, Map<Operation, Integer> mix,
+                                int seedUsers, int maxInFlight) {
+        requirePositive("load.rate", rate);
+        requirePositive("load.duration", duration.getSeconds());
+        requirePositive("load.seedUsers", seedUsers);
+        requirePositive("load.maxInFlight", maxInFlight);
+        this.baseUrl = baseUrl;
+        this.rate = rate;
+        this.duration = duration;
+        this.mix = mix;
+        this.seedUsers = seedUsers;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        for (Operation operation : Operation.values()) {
+            byOperation.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            failures.put(operation, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rate = Integer.getInteger("load.rate", 1000);
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 30L));
+        Map<Operation, Integer> mix = parseMix(System.getProperty("load.mix", "create=25,get=50,update=15,delete=10"));
+        int seedUsers = Integer.getInteger("load.seedUsers", 1000);
+        int maxInFlight = Integer.getInteger("load.maxInFlight", 10_000);
+        String baseUrl = System.getProperty("load.baseUrl");
+        Path report = Paths.get(System.getProperty("load.report", "build/reports/load/load-summary.txt"));
+
+        TestConfiguration localMock = null;
+        if (baseUrl == null) {
+            localMock = new TestConfiguration();
+            localMock.startWireMockServer();
+            localMock.resetStubs();
+            baseUrl = localMock.getBaseUrl();
+        }
+        try {
+            new LoadGenerationRunner(baseUrl, rate, duration, mix, seedUsers, maxInFlight).run();
+        } finally {
+            if (localMock != null) {
+                localMock.stopWireMockServer();
+                RunSummary.add("User body cache: " + CODEC.stats());
+                RunSummary.add("Contract validation: " + CONTRACTS.stats());
+                RunSummary.add("Mock endpoints:\n" + localMock.getMetrics().toString().stripTrailing());
+            }
+            RunSummary.writeTo(report);
+        }
+    }
+
+    public void run() throws InterruptedException {
+        String[] seededIds = seed();
+        SplittableRandom random = new SplittableRandom(42);
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long totalRequests = rate * duration.getSeconds();
+
+        RunSummary.add("Load run: %d req/s for %ds against %s, mix %s", rate, duration.getSeconds(), baseUrl, mix);
+        long start = System.nanoTime();
+        for (long i = 0; i < totalRequests; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            send(pick(random, totalWeight), seededIds[random.nextInt(seededIds.length)], intendedStart);
+        }
+        // Every completion releases its permit, so holding them all means the run has drained
+        inFlight.acquire(maxInFlight);
+        report(System.nanoTime() - start);
+    }
+
+    private String[] seed() {
+        String[] ids = new String[seedUsers];
+        for (int i = 0; i < seedUsers; i++) {
+            HttpResponse<byte[]> response = httpClient.sendAsync(
+                    request("/users").POST(body(syntheticUser(i))).build(),
+                    HttpResponse.BodyHandlers.ofByteArray()).join();
+            ids[i] = readUser(response.body()).getId();
+        }
+        return ids;
+    }
+
+    private void send(Operation operation, String seededId, long intendedStart) {
+        HttpRequest request;
+        switch (operation) {
+            case CREATE:
+                request = request("/users").POST(body(syntheticUser(seededId.hashCode()))).build();
+                break;
+            case UPDATE:
+                request = request("/users/" + seededId).PUT(body(syntheticUser(seededId.hashCode()))).build();
+                break;
+            case DELETE:
+                String createdId = createdIds.poll();
+                if (createdId == null) {
+                    // Nothing created yet that we can safely remove; keep the arrival rate with a read
+                    send(Operation.GET, seededId, intendedStart);
+                    return;
+                }
+                request = request("/users/" + createdId).DELETE().build();
+                break;
+            default:
+                request = request("/users/" + seededId).GET().build();
+        }
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    try {
+                        record(operation, intendedStart, response, error);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+    }
+
+    private void record(Operation operation, long intendedStart, HttpResponse<byte[]> response, Throwable error) {
+        long latencyMicros = Math.min(
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart), HIGHEST_TRACKABLE_MICROS);
+        if (error != null || response.statusCode() >= 400) {
+            recordFailure(operation, latencyMicros);
+            return;
+        }
+        if (operation == Operation.CREATE) {
+            String createdId;
+            try {
+                createdId = readUser(response.body()).getId();
+            } catch (RuntimeException e) {
+                // A body that breaks the contract is a failed request, not a fast success
+                recordFailure(operation, latencyMicros);
+                return;
+            }
+            createdIds.offer(createdId);
+        }
+        overall.recordValue(latencyMicros);
+        byOperation.get(operation).recordValue(latencyMicros);
+    }
+
+    private void recordFailure(Operation operation, long latencyMicros) {
+        failures.get(operation).incrementAndGet();
+        failed.recordValue(latencyMicros);
+    }
+
+    private Operation pick(SplittableRandom random, int totalWeight) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Operation.GET;
+    }
+
+    private void report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long completed = overall.getTotalCount() + totalFailures();
+        RunSummary.add("Completed %d requests (%d failed) in %.1fs: %.0f req/s achieved",
+                completed, totalFailures(), seconds, completed / seconds);
+        RunSummary.add("Latency of successful requests:");
+        summarizePercentiles("all", overall);
+        for (Operation operation : Operation.values()) {
+            if (byOperation.get(operation).getTotalCount() > 0) {
+                summarizePercentiles(operation.name().toLowerCase(), byOperation.get(operation));
+            }
+        }
+        if (failed.getTotalCount() > 0) {
+            RunSummary.add("Latency of failed requests:");
+            summarizePercentiles("failed", failed);
+        }
+    }
+
+    private static void summarizePercentiles(String label, Histogram histogram) {
+        RunSummary.add("  %-7s n=%-9d p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                label,
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private long totalFailures() {
+        return failures.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private static HttpRequest.BodyPublisher body(User user) {
+        return HttpRequest.BodyPublishers.ofByteArray(CODEC.encode(user));
+    }
+
+    private static User readUser(byte[] json) {
+        try {
+            return CODEC.reader().readValue(CONTRACTS.check(Contract.USER, json));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unexpected user payload", e);
+        }
+    }
+
+    private static User syntheticUser(int seed) {
+        int n = Math.abs(seed % 100_000);
+        return User.builder()
+                .firstName("Load" + n)
+                .lastName("User")
+                .email("load" + n + "@example.com")
+                .age(18 + n % 60)
+                .build();
+    }
+
+    private static void requirePositive(String property, long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(property + " must be positive, was " + value);
+        }
+    }
+
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            mix.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+}
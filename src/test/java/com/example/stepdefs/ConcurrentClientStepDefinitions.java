@@ -0,0 +1,158 @@
+package com.example.stepdefs;
+
+import com.example.config.HttpClientConfiguration;
+import com.example.config.TestConfiguration;
+import com.example.contracts.ContractValidator;
+import com.example.contracts.ContractValidator.Contract;
+import com.example.mock.SyntheticUsers;
+import com.example.mock.UserCodec;
+import com.example.models.User;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Steps that fan many requests out at once with {@code sendAsync} and assert on the
+ * aggregate outcome: status counts, uniqueness of generated IDs and latency percentiles.
+ * In-flight requests are capped by {@code -Dmock.concurrency.maxInFlight} (default 256)
+ * so a large fan-out queues in the client instead of overrunning the mock's acceptor.
+ */
+public class ConcurrentClientStepDefinitions {
+
+    private static final HttpClient HTTP_CLIENT = HttpClientConfiguration.jdk();
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("mock.concurrency.maxInFlight", 256);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    // Transport failures are counted under this pseudo status
+    private static final int NO_RESPONSE = 0;
+
+    private final UserCodec codec = UserCodec.shared();
+    private TestConfiguration testConfig;
+    private Scenario scenario;
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final Queue<byte[]> createdBodies = new ConcurrentLinkedQueue<>();
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private int requestsSent;
+
+    @Before
+    public void setUp(Scenario scenario) {
+        this.scenario = scenario;
+        testConfig = TestConfiguration.forCurrentWorker();
+    }
+
+    @When("{int} users are created concurrently")
+    public void usersAreCreatedConcurrently(int count) throws InterruptedException {
+        fanOut(count, i -> {
+            User user = SyntheticUsers.user(i);
+            user.setId(null);
+            return request("/users").POST(HttpRequest.BodyPublishers.ofByteArray(codec.encode(user))).build();
+        }, true);
+    }
+
+    @When("{int} clients read user {string} simultaneously")
+    public void clientsReadUserSimultaneously(int count, String userId) throws InterruptedException {
+        HttpRequest read = request("/users/" + userId).GET().build();
+        fanOut(count, i -> read, false);
+    }
+
+    @When("{int} clients delete user {string} simultaneously")
+    public void clientsDeleteUserSimultaneously(int count, String userId) throws InterruptedException {
+        HttpRequest delete = request("/users/" + userId).DELETE().build();
+        fanOut(count, i -> delete, false);
+    }
+
+    @Then("all concurrent requests should have returned status {int}")
+    public void allConcurrentRequestsShouldHaveReturnedStatus(int status) {
+        assertThat(statusCounts.keySet()).containsOnly(status);
+        assertThat(countOf(status)).isEqualTo(requestsSent);
+    }
+
+    @Then("{int} concurrent request(s) should have returned status {int}")
+    public void concurrentRequestsShouldHaveReturnedStatus(int expected, int status) {
+        assertThat(countOf(status)).isEqualTo(expected);
+    }
+
+    @Then("every concurrently created user should have a unique ID")
+    public void everyConcurrentlyCreatedUserShouldHaveAUniqueId() throws IOException {
+        Set<String> ids = new HashSet<>();
+        for (byte[] body : createdBodies) {
+            User user = codec.reader().readValue(ContractValidator.shared().check(Contract.USER, body));
+            ids.add(user.getId());
+        }
+        assertThat(createdBodies).isNotEmpty();
+        assertThat(ids).hasSameSizeAs(createdBodies).doesNotContainNull();
+    }
+
+    @Then("the concurrent p99 latency should be below {long} ms")
+    public void theConcurrentP99LatencyShouldBeBelow(long millis) {
+        assertThat(latencies.getValueAtPercentile(99) / 1000.0).isLessThan(millis);
+    }
+
+    private void fanOut(int count, IntFunction<HttpRequest> requestFor, boolean keepBodies) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[count];
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            HttpRequest request = requestFor.apply(i);
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            responses[i] = HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .handle((response, error) -> {
+                        try {
+                            record(sent, response, error, keepBodies);
+                        } finally {
+                            inFlight.release();
+                        }
+                        return null;
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+        requestsSent += count;
+
+        scenario.log(String.format("%d concurrent requests in %d ms: statuses=%s p50=%.2fms p99=%.2fms max=%.2fms",
+                count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), statusCounts,
+                latencies.getValueAtPercentile(50) / 1000.0, latencies.getValueAtPercentile(99) / 1000.0,
+                latencies.getMaxValue() / 1000.0));
+    }
+
+    private void record(long sentNanos, HttpResponse<byte[]> response, Throwable error, boolean keepBodies) {
+        latencies.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentNanos)));
+        int status = error == null ? response.statusCode() : NO_RESPONSE;
+        statusCounts.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+        if (keepBodies && error == null) {
+            createdBodies.add(response.body());
+        }
+    }
+
+    private long countOf(int status) {
+        LongAdder count = statusCounts.get(status);
+        return count == null ? 0 : count.sum();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(testConfig.getBaseUrl() + path))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.stepdefs;
+
+import com.example.config.HttpClientConfiguration;
+import com.example.config.TestConfiguration;
+import com.example.mock.UserCodec;
+import com.example.models.User;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Steps for HTTP caching and optimistic concurrency on user resources: conditional
+ * fetches with {@code If-None-Match}, writes guarded by {@code If-Match}, and gzip.
+ * Bodies are counted as they arrive on the wire, so the bytes a client saves through
+ * 304s and compression can be asserted directly.
+ */
+public class ConditionalRequestStepDefinitions {
+
+    private static final HttpClient HTTP_CLIENT = HttpClientConfiguration.jdk();
+
+    private final UserCodec codec = UserCodec.shared();
+    private TestConfiguration testConfig;
+    private Scenario scenario;
+    private String rememberedEtag;
+    private HttpResponse<byte[]> response;
+    private int fullBodyBytes;
+    private int conditionalFetches;
+    private int notModified;
+    private long conditionalBodyBytes;
+
+    @Before
+    public void setUp(Scenario scenario) {
+        this.scenario = scenario;
+        testConfig = TestConfiguration.forCurrentWorker();
+    }
+
+    @When("I fetch user {string} and remember its ETag")
+    public void iFetchUserAndRememberItsEtag(String userId) throws Exception {
+        response = send(request(userId).GET().build());
+        assertThat(response.statusCode()).isEqualTo(200);
+        rememberedEtag = etagOf(response);
+        fullBodyBytes = response.body().length;
+    }
+
+    @When("I fetch user {string} {int} times with If-None-Match")
+    public void iFetchUserTimesWithIfNoneMatch(String userId, int times) throws Exception {
+        HttpRequest conditional = request(userId).header("If-None-Match", rememberedEtag).GET().build();
+        for (int i = 0; i < times; i++) {
+            response = send(conditional);
+            conditionalFetches++;
+            conditionalBodyBytes += response.body().length;
+            if (response.statusCode() == 304) {
+                notModified++;
+            }
+        }
+        scenario.log(String.format("%d conditional fetch(es) of %s: %d not modified, %d of %d body bytes transferred",
+                conditionalFetches, userId, notModified, conditionalBodyBytes, (long) fullBodyBytes * conditionalFetches));
+    }
+
+    @When("user {string} is changed to firstName {string} by another client")
+    public void userIsChangedByAnotherClient(String userId, String firstName) throws Exception {
+        User changed = codec.decode(send(request(userId).GET().build()).body());
+        changed.setFirstName(firstName);
+        assertThat(send(request(userId).PUT(body(changed)).build()).statusCode()).isEqualTo(200);
+    }
+
+    @When("user {string} is saved again unchanged by another client")
+    public void userIsSavedAgainUnchangedByAnotherClient(String userId) throws Exception {
+        User unchanged = codec.decode(send(request(userId).GET().build()).body());
+        assertThat(send(request(userId).PUT(body(unchanged)).build()).statusCode()).isEqualTo(200);
+    }
+
+    @When("the remembered ETag is sent as a weak tag")
+    public void theRememberedEtagIsSentAsAWeakTag() {
+        rememberedEtag = "W/" + rememberedEtag;
+    }
+
+    @When("I change user {string} to firstName {string} if it still matches the remembered ETag")
+    public void iChangeUserIfItStillMatchesTheRememberedEtag(String userId, String firstName) throws Exception {
+        User changed = codec.decode(send(request(userId).GET().build()).body());
+        changed.setFirstName(firstName);
+        response = send(request(userId).header("If-Match", rememberedEtag).PUT(body(changed)).build());
+    }
+
+    @When("I delete user {string} if it still matches the remembered ETag")
+    public void iDeleteUserIfItStillMatchesTheRememberedEtag(String userId) throws Exception {
+        response = send(request(userId).header("If-Match", rememberedEtag).DELETE().build());
+    }
+
+    @When("I fetch user {string} accepting gzip")
+    public void iFetchUserAcceptingGzip(String userId) throws Exception {
+        fullBodyBytes = send(request(userId).GET().build()).body().length;
+        response = send(request(userId).header("Accept-Encoding", "gzip").GET().build());
+    }
+
+    @Then("every conditional fetch should have been answered with 304 Not Modified")
+    public void everyConditionalFetchShouldHaveBeenAnsweredWith304() {
+        assertThat(conditionalFetches).isPositive();
+        assertThat(notModified).isEqualTo(conditionalFetches);
+        assertThat(etagOf(response)).isEqualTo(rememberedEtag);
+    }
+
+    @Then("the conditional fetches should have saved at least {int}% of the response bytes")
+    public void theConditionalFetchesShouldHaveSavedAtLeastOfTheResponseBytes(int percent) {
+        long unconditionalBytes = (long) fullBodyBytes * conditionalFetches;
+        assertThat(unconditionalBytes - conditionalBodyBytes).isGreaterThanOrEqualTo(unconditionalBytes * percent / 100);
+    }
+
+    @Then("the conditional fetch should return the user with firstName {string} and a new ETag")
+    public void theConditionalFetchShouldReturnTheUserWithANewEtag(String firstName) throws IOException {
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(etagOf(response)).isNotEqualTo(rememberedEtag);
+        assertThat(codec.decode(response.body()).getFirstName()).isEqualTo(firstName);
+    }
+
+    @Then("the conditional request should have returned status {int}")
+    public void theConditionalRequestShouldHaveReturnedStatus(int status) {
+        assertThat(response.statusCode()).isEqualTo(status);
+    }
+
+    @Then("the gzipped response should decode to user {string}")
+    public void theGzippedResponseShouldDecodeToUser(String userId) throws IOException {
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        byte[] decoded;
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            decoded = in.readAllBytes();
+        }
+        assertThat(codec.decode(decoded).getId()).isEqualTo(userId);
+        assertThat(decoded).hasSize(fullBodyBytes);
+        scenario.log(String.format("gzip: %d body bytes on the wire for a %d byte user", response.body().length, fullBodyBytes));
+    }
+
+    private static String etagOf(HttpResponse<?> response) {
+        return response.headers().firstValue("ETag").orElseThrow(() -> new AssertionError("No ETag on " + response));
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpRequest.BodyPublisher body(User user) {
+        return HttpRequest.BodyPublishers.ofByteArray(codec.encode(user));
+    }
+
+    private HttpRequest.Builder request(String userId) {
+        return HttpRequest.newBuilder(URI.create(testConfig.getBaseUrl() + "/users/" + userId))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+}
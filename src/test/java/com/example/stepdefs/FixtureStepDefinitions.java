@@ -0,0 +1,212 @@
+package com.example.stepdefs;
+
+import com.example.config.HttpClientConfiguration;
+import com.example.config.TestConfiguration;
+import com.example.mock.FixtureStore;
+import com.example.mock.FixtureWriter;
+import com.example.mock.SyntheticUsers;
+import com.example.mock.UserCodec;
+import com.example.models.User;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Steps for recording user traffic to a fixture file and replaying it through the mock
+ * from a memory-mapped {@link FixtureStore}.
+ */
+public class FixtureStepDefinitions {
+
+    private static final HttpClient HTTP_CLIENT = HttpClientConfiguration.jdk();
+    private static final Map<String, String> JSON_HEADERS = Map.of("Content-Type", "application/json");
+    // The recorder appends after the response is on the wire, so the client can be slightly ahead
+    private static final long SETTLE_MILLIS = 1000;
+
+    private final UserCodec codec = UserCodec.shared();
+    private TestConfiguration testConfig;
+    private Scenario scenario;
+    private Path fixtureFile;
+    private FixtureWriter writer;
+    private FixtureStore fixtures;
+    private long fixturesWritten;
+    private final List<Exchange> recorded = new ArrayList<>();
+
+    @Before
+    public void setUp(Scenario scenario) {
+        this.scenario = scenario;
+        testConfig = TestConfiguration.forCurrentWorker();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (writer != null) {
+            testConfig.stopRecordingFixtures();
+            writer.close();
+        }
+    }
+
+    @Given("fixtures are being recorded")
+    public void fixturesAreBeingRecorded() throws IOException {
+        writer = new FixtureWriter(newFixtureFile());
+        testConfig.recordFixtures(writer);
+    }
+
+    @When("{int} users are created, fetched and updated")
+    public void usersAreCreatedFetchedAndUpdated(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            User user = User.builder()
+                    .firstName("Recorded" + i)
+                    .lastName("User")
+                    .email("recorded" + i + "@example.com")
+                    .age(20 + i % 50)
+                    .build();
+            Exchange created = exchange(request("/users").POST(body(user)).build());
+            assertThat(created.response.statusCode()).isEqualTo(201);
+            User saved = codec.decode(created.response.body());
+            exchange(request("/users/" + saved.getId()).GET().build());
+            saved.setAge(saved.getAge() + 1);
+            exchange(request("/users/" + saved.getId()).PUT(body(saved)).build());
+        }
+    }
+
+    @When("recording stops and the user store is cleared")
+    public void recordingStopsAndTheUserStoreIsCleared() throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SETTLE_MILLIS);
+        while (writer.getRecorded() < recorded.size() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        testConfig.stopRecordingFixtures();
+        fixturesWritten = writer.getRecorded();
+        writer.close();
+        testConfig.getUserStore().clear();
+    }
+
+    @Given("a fixture file of {int} recorded user reads")
+    public void aFixtureFileOfRecordedUserReads(int count) throws IOException {
+        long start = System.nanoTime();
+        try (FixtureWriter reads = new FixtureWriter(newFixtureFile())) {
+            for (int i = 0; i < count; i++) {
+                String id = SyntheticUsers.id(i);
+                reads.append("GET", "/users/" + id, null, 200, JSON_HEADERS, codec.encode(SyntheticUsers.user(i)));
+            }
+            fixturesWritten = reads.getRecorded();
+        }
+        scenario.log(String.format("Wrote %d fixture(s) in %d ms", count, (System.nanoTime() - start) / 1_000_000));
+    }
+
+    @Given("a fixture file of {int} recorded user reads with a rejected {int} byte URL halfway")
+    public void aFixtureFileOfRecordedUserReadsWithARejectedUrl(int count, int urlBytes) throws IOException {
+        try (FixtureWriter reads = new FixtureWriter(newFixtureFile())) {
+            for (int i = 0; i < count; i++) {
+                if (i == count / 2) {
+                    String url = "/users/" + "x".repeat(urlBytes);
+                    assertThatThrownBy(() -> reads.append("GET", url, null, 200, JSON_HEADERS, new byte[0]))
+                            .isInstanceOf(IllegalArgumentException.class);
+                }
+                reads.append("GET", "/users/" + SyntheticUsers.id(i), null, 200, JSON_HEADERS,
+                        codec.encode(SyntheticUsers.user(i)));
+            }
+            fixturesWritten = reads.getRecorded();
+        }
+    }
+
+    @When("the fixture file is replayed")
+    public void theFixtureFileIsReplayed() throws IOException {
+        fixtures = FixtureStore.open(fixtureFile);
+        scenario.log("Loaded " + fixtures);
+        testConfig.replayFixtures(fixtures);
+    }
+
+    @Then("the fixture store should hold {int} fixtures")
+    public void theFixtureStoreShouldHoldFixtures(int count) {
+        assertThat(fixturesWritten).isEqualTo(count);
+        assertThat(fixtures.size()).isEqualTo(count);
+    }
+
+    @Then("replaying the recorded requests should return the recorded responses")
+    public void replayingTheRecordedRequestsShouldReturnTheRecordedResponses() throws Exception {
+        assertThat(recorded).isNotEmpty();
+        for (Exchange original : recorded) {
+            HttpResponse<byte[]> replayed = send(original.request);
+            assertThat(replayed.statusCode()).as("status of %s", original.request).isEqualTo(original.response.statusCode());
+            assertThat(replayed.body()).as("body of %s", original.request).isEqualTo(original.response.body());
+            assertThat(replayed.headers().firstValue("ETag")).as("ETag of %s", original.request)
+                    .isEqualTo(original.response.headers().firstValue("ETag"));
+        }
+    }
+
+    @Then("{int} sampled recorded users should be served from the fixtures")
+    public void sampledRecordedUsersShouldBeServedFromTheFixtures(int samples) throws Exception {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < samples; i++) {
+            int index = random.nextInt((int) fixturesWritten);
+            HttpResponse<byte[]> response = send(request("/users/" + SyntheticUsers.id(index)).GET().build());
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body()).isEqualTo(codec.encode(SyntheticUsers.user(index)));
+        }
+    }
+
+    @Then("users that were not recorded should still be served by the mock")
+    public void usersThatWereNotRecordedShouldStillBeServedByTheMock() throws Exception {
+        String unrecorded = SyntheticUsers.id(fixturesWritten);
+        assertThat(send(request("/users/" + unrecorded).GET().build()).statusCode()).isEqualTo(404);
+        testConfig.seedUser(User.builder().id(unrecorded).firstName("Live").lastName("User")
+                .email("live@example.com").age(30).build());
+        assertThat(send(request("/users/" + unrecorded).GET().build()).statusCode()).isEqualTo(200);
+    }
+
+    private Path newFixtureFile() throws IOException {
+        fixtureFile = Files.createTempFile("user-fixtures", ".bin");
+        fixtureFile.toFile().deleteOnExit();
+        return fixtureFile;
+    }
+
+    private Exchange exchange(HttpRequest request) throws IOException, InterruptedException {
+        Exchange exchange = new Exchange(request, send(request));
+        recorded.add(exchange);
+        return exchange;
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpRequest.BodyPublisher body(User user) {
+        return HttpRequest.BodyPublishers.ofByteArray(codec.encode(user));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(testConfig.getBaseUrl() + path))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private static final class Exchange {
+        private final HttpRequest request;
+        private final HttpResponse<byte[]> response;
+
+        Exchange(HttpRequest request, HttpResponse<byte[]> response) {
+            this.request = request;
+            this.response = response;
+        }
+    }
+}
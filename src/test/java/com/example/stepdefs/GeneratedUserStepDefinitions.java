@@ -0,0 +1,261 @@
+package com.example.stepdefs;
+
+import com.example.config.HttpClientConfiguration;
+import com.example.config.TestConfiguration;
+import com.example.contracts.ContractValidator;
+import com.example.contracts.ContractValidator.Contract;
+import com.example.mock.UserCodec;
+import com.example.mock.UserGenerator;
+import com.example.mock.UserGenerator.GeneratedUser;
+import com.example.models.ErrorResponse;
+import com.example.models.User;
+import com.example.models.UserValidator;
+import com.example.models.UserValidator.Violation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the create and update flows over large {@link UserGenerator} populations. Users
+ * are generated as requests are sent and only the in-flight ones are referenced, so
+ * memory stays flat whatever the count. Each response is checked against the outcome
+ * the generator intended; only mismatch counts and a few samples are kept.
+ */
+public class GeneratedUserStepDefinitions {
+
+    private static final HttpClient HTTP_CLIENT = HttpClientConfiguration.jdk();
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("mock.concurrency.maxInFlight", 256);
+    private static final ObjectReader ERROR_READER = new ObjectMapper().readerFor(ErrorResponse.class);
+    private static final long DEFAULT_SEED = 42L;
+    private static final int MAX_MISMATCH_SAMPLES = 10;
+
+    private final UserCodec codec = UserCodec.shared();
+    private final ContractValidator contracts = ContractValidator.shared();
+    private TestConfiguration testConfig;
+    private Scenario scenario;
+    private UserGenerator generator;
+    private long count;
+    private double invalidRatio = UserGenerator.DEFAULT_INVALID_RATIO;
+
+    private final LongAdder accepted = new LongAdder();
+    private final Map<Violation, LongAdder> rejected = new EnumMap<>(Violation.class);
+    private final LongAdder mismatches = new LongAdder();
+    private final Queue<String> mismatchSamples = new ConcurrentLinkedQueue<>();
+
+    @Before
+    public void setUp(Scenario scenario) {
+        this.scenario = scenario;
+        testConfig = TestConfiguration.forCurrentWorker();
+        for (Violation violation : Violation.values()) {
+            rejected.put(violation, new LongAdder());
+        }
+    }
+
+    @Given("{long} generated users")
+    public void generatedUsers(long count) {
+        generatedUsersWithSeed(count, DEFAULT_SEED);
+    }
+
+    @Given("{long} generated users with seed {long}")
+    public void generatedUsersWithSeed(long count, long seed) {
+        this.generator = new UserGenerator(seed);
+        this.count = count;
+    }
+
+    @Given("{long} generated users with seed {long} and {int}% invalid")
+    public void generatedUsersWithSeedAndInvalid(long count, long seed, int invalidPercent) {
+        this.invalidRatio = invalidPercent / 100.0;
+        this.generator = new UserGenerator(seed, invalidRatio);
+        this.count = count;
+    }
+
+    @When("each generated user is validated in process")
+    public void eachGeneratedUserIsValidatedInProcess() {
+        assertThat(generator).as("generated users").isNotNull();
+        UserValidator validator = UserValidator.getInstance();
+        generator.stream(count).forEach(generated -> {
+            List<Violation> violations = validator.validate(generated.getUser()).getViolations();
+            if (generated.isValid() ? !violations.isEmpty()
+                    : !violations.equals(Collections.singletonList(generated.getExpectedViolation()))) {
+                mismatch(generated, "validated with " + violations);
+            } else if (generated.isValid()) {
+                accepted.increment();
+            } else {
+                rejected.get(generated.getExpectedViolation()).increment();
+            }
+        });
+    }
+
+    @Then("generating them again with seed {long} should yield the same users")
+    public void generatingThemAgainWithSeedShouldYieldTheSameUsers(long seed) {
+        UserGenerator again = new UserGenerator(seed, invalidRatio);
+        // In reverse, as every user depends on its index alone
+        for (long index = count - 1; index >= 0; index--) {
+            GeneratedUser first = generator.generate(index);
+            GeneratedUser second = again.generate(index);
+            if (!sameDetails(first.getUser(), second.getUser())
+                    || first.getExpectedViolation() != second.getExpectedViolation()) {
+                mismatch(first, "regenerated as " + second.getUser());
+            }
+        }
+        assertThat(mismatchSamples).as("%d user(s) generated differently", mismatches.sum()).isEmpty();
+    }
+
+    @When("each generated user is created and then deleted")
+    public void eachGeneratedUserIsCreatedAndThenDeleted() throws InterruptedException {
+        // Deleting each accepted user keeps the mock's store as flat as the client side
+        run("created", generated -> send(request("/users").POST(body(generated)).build())
+                .thenCompose(created -> {
+                    String id = expectOutcome(generated, created, 201);
+                    if (id == null) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    return send(request("/users/" + id).DELETE().build())
+                            .thenAccept(deleted -> expectStatus(generated, deleted, 204));
+                }));
+    }
+
+    @When("each generated user is applied as an update to user {string}")
+    public void eachGeneratedUserIsAppliedAsAnUpdateToUser(String userId) throws InterruptedException {
+        run("applied to " + userId, generated -> send(request("/users/" + userId).PUT(body(generated)).build())
+                .thenAccept(updated -> expectOutcome(generated, updated, 200)));
+    }
+
+    @Then("every generated user should have been accepted or rejected as expected")
+    public void everyGeneratedUserShouldHaveBeenAcceptedOrRejectedAsExpected() {
+        assertThat(mismatchSamples).as("%d mismatched generated user(s)", mismatches.sum()).isEmpty();
+        assertThat(mismatches.sum()).isZero();
+        assertThat(accepted.sum() + totalRejected()).isEqualTo(count);
+    }
+
+    @Then("the generated users should have covered every validation rule")
+    public void theGeneratedUsersShouldHaveCoveredEveryValidationRule() {
+        assertThat(rejected).allSatisfy((violation, rejections) ->
+                assertThat(rejections.sum()).as("rejections for %s", violation).isPositive());
+        assertThat(accepted.sum()).isPositive();
+    }
+
+    private void run(String action, Function<GeneratedUser, CompletableFuture<?>> flow)
+            throws InterruptedException {
+        assertThat(generator).as("generated users").isNotNull();
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        long start = System.nanoTime();
+        for (GeneratedUser generated : (Iterable<GeneratedUser>) generator.stream(count)::iterator) {
+            inFlight.acquire();
+            flow.apply(generated).whenComplete((ignored, error) -> {
+                try {
+                    if (error != null) {
+                        mismatch(generated, "request failed: " + error);
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        // Every completion releases its permit, so holding them all means the run has drained
+        inFlight.acquire(MAX_IN_FLIGHT);
+
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        scenario.log(String.format("%d generated users %s in %d ms (%d users/s): %d accepted, rejected %s, %d mismatched",
+                count, action, millis, count * 1000 / millis, accepted.sum(), rejected, mismatches.sum()));
+    }
+
+    /**
+     * Checks a create or update response against what the generated user should have
+     * produced and returns the ID of an accepted user.
+     */
+    private String expectOutcome(GeneratedUser generated, HttpResponse<byte[]> response, int acceptedStatus) {
+        try {
+            if (generated.isValid()) {
+                if (!expectStatus(generated, response, acceptedStatus)) {
+                    return null;
+                }
+                User returned = codec.reader().readValue(contracts.check(Contract.USER, response.body()));
+                if (!sameDetails(generated.getUser(), returned)) {
+                    mismatch(generated, "returned " + returned);
+                    return null;
+                }
+                accepted.increment();
+                return returned.getId();
+            }
+            if (!expectStatus(generated, response, 400)) {
+                return null;
+            }
+            ErrorResponse error = ERROR_READER.readValue(contracts.check(Contract.ERROR, response.body()));
+            String expected = generated.getExpectedViolation().name();
+            if (!error.getViolations().equals(Collections.singletonList(expected))) {
+                mismatch(generated, "expected only " + expected + " but got " + error.getViolations());
+                return null;
+            }
+            rejected.get(generated.getExpectedViolation()).increment();
+            return null;
+        } catch (IOException | AssertionError e) {
+            mismatch(generated, e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean expectStatus(GeneratedUser generated, HttpResponse<byte[]> response, int status) {
+        if (response.statusCode() == status) {
+            return true;
+        }
+        mismatch(generated, "expected status " + status + " but got " + response.statusCode());
+        return false;
+    }
+
+    private void mismatch(GeneratedUser generated, String detail) {
+        mismatches.increment();
+        if (mismatchSamples.size() < MAX_MISMATCH_SAMPLES) {
+            mismatchSamples.add("user " + generated.getIndex() + " " + generated.getUser() + ": " + detail);
+        }
+    }
+
+    private long totalRejected() {
+        return rejected.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private static boolean sameDetails(User expected, User actual) {
+        return Objects.equals(expected.getFirstName(), actual.getFirstName())
+                && Objects.equals(expected.getLastName(), actual.getLastName())
+                && Objects.equals(expected.getEmail(), actual.getEmail())
+                && Objects.equals(expected.getAge(), actual.getAge());
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request) {
+        return HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpRequest.BodyPublisher body(GeneratedUser generated) {
+        return HttpRequest.BodyPublishers.ofByteArray(codec.encode(generated.getUser()));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(testConfig.getBaseUrl() + path))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+}
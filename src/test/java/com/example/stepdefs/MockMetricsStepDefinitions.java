@@ -0,0 +1,91 @@
+package com.example.stepdefs;
+
+import com.example.config.HttpClientConfiguration;
+import com.example.config.TestConfiguration;
+import com.example.mock.ConnectionStats;
+import com.example.mock.MockMetrics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.Then;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Steps that read the mock's own per-endpoint metrics, both in-process and over the
+ * {@code /__admin/metrics} endpoint, and its connection reuse.
+ */
+public class MockMetricsStepDefinitions {
+
+    private static final HttpClient HTTP_CLIENT = HttpClientConfiguration.jdk();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // Metrics are recorded once the response is on the wire, so the client can be slightly ahead
+    private static final long SETTLE_MILLIS = 1000;
+
+    private TestConfiguration testConfig;
+    private Scenario scenario;
+    private long connectionsAtStart;
+    private long requestsAtStart;
+
+    @Before
+    public void setUp(Scenario scenario) {
+        this.scenario = scenario;
+        testConfig = TestConfiguration.forCurrentWorker();
+        ConnectionStats stats = testConfig.getConnectionStats();
+        connectionsAtStart = stats.getConnectionsOpened();
+        requestsAtStart = stats.getRequestsServed();
+    }
+
+    @Then("the mock should have recorded {long} {string} request(s) with status {int}")
+    public void theMockShouldHaveRecordedRequestsWithStatus(long expected, String endpoint, int status)
+            throws InterruptedException {
+        MockMetrics metrics = testConfig.getMetrics();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SETTLE_MILLIS);
+        while (metrics.count(endpoint, status) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(metrics.count(endpoint, status)).isEqualTo(expected);
+    }
+
+    // Pooled clients retry an idempotent request once on a reset connection, so the client may never see it
+    @Then("the mock should have injected at least one connection reset on {string}")
+    public void theMockShouldHaveInjectedAConnectionReset(String endpoint) {
+        assertThat(testConfig.getMetrics().count(endpoint, 0)).isPositive();
+    }
+
+    @Then("the recorded median latency of {string} with status {int} should be at least {long} ms")
+    public void theRecordedMedianLatencyShouldBeAtLeast(String endpoint, int status, long millis) {
+        assertThat(testConfig.getMetrics().percentileMillis(endpoint, status, 50)).isGreaterThanOrEqualTo(millis);
+    }
+
+    @Then("at least {int}% of requests should have reused a connection")
+    public void atLeastPercentOfRequestsShouldHaveReusedAConnection(int percent) {
+        ConnectionStats stats = testConfig.getConnectionStats();
+        long connections = stats.getConnectionsOpened() - connectionsAtStart;
+        long requests = stats.getRequestsServed() - requestsAtStart;
+        scenario.log(String.format("Scenario opened %d connection(s) for %d request(s)", connections, requests));
+        assertThat(100 * ConnectionStats.reuseRatio(connections, requests)).isGreaterThanOrEqualTo(percent);
+    }
+
+    @Then("the metrics endpoint should report {long} {string} request(s)")
+    public void theMetricsEndpointShouldReportRequests(long expected, String endpoint) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(testConfig.getBaseUrl() + "/__admin/metrics")).GET().build();
+        HttpResponse<byte[]> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        long reported = 0;
+        for (JsonNode series : MAPPER.readTree(response.body()).get("endpoints")) {
+            if (endpoint.equals(series.get("endpoint").asText())) {
+                reported += series.get("count").asLong();
+            }
+        }
+        assertThat(reported).isEqualTo(expected);
+    }
+}
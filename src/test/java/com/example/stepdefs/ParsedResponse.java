@@ -0,0 +1,89 @@
+package com.example.stepdefs;
+
+import com.example.contracts.ContractValidator;
+import com.example.contracts.ContractValidator.Contract;
+import com.example.mock.UserCodec;
+import com.example.models.ErrorResponse;
+import com.example.models.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A REST Assured response whose body is parsed exactly once on arrival and checked
+ * against its JSON Schema contract: {@code success} for 2xx, the error contract
+ * otherwise. The same tree is then bound to {@link User} or {@link ErrorResponse} with
+ * cached Jackson readers rather than re-parsed per GPath lookup.
+ */
+final class ParsedResponse {
+
+    private static final ObjectReader ERROR_READER = new ObjectMapper().readerFor(ErrorResponse.class);
+
+    private final Response response;
+    private final UserCodec codec;
+    private final JsonNode tree;
+    private User user;
+    private ErrorResponse error;
+
+    ParsedResponse(Response response, UserCodec codec, Contract success) {
+        this.response = response;
+        this.codec = codec;
+        byte[] body = response.asByteArray();
+        if (body.length == 0) {
+            this.tree = null;
+            return;
+        }
+        Contract contract = response.getStatusCode() < 300 ? success : Contract.ERROR;
+        try {
+            this.tree = ContractValidator.shared().check(contract, body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unparseable response body with status " + getStatusCode() + ": "
+                    + response.asString(), e);
+        }
+    }
+
+    int getStatusCode() {
+        return response.getStatusCode();
+    }
+
+    User user() {
+        if (user == null) {
+            user = bind(codec.reader());
+        }
+        return user;
+    }
+
+    ErrorResponse error() {
+        if (error == null) {
+            error = bind(ERROR_READER);
+        }
+        return error;
+    }
+
+    /**
+     * Compares every field of the returned user with {@code expected} in one pass, reporting
+     * all mismatches together. A null expected ID is not compared.
+     */
+    void assertUser(User expected) {
+        assertThat(user())
+                .as("user returned with status %d", getStatusCode())
+                .usingRecursiveComparison()
+                .ignoringExpectedNullFields()
+                .isEqualTo(expected);
+    }
+
+    private <T> T bind(ObjectReader reader) {
+        assertThat(tree).as("body of response with status %d", getStatusCode()).isNotNull();
+        try {
+            return reader.readValue(tree);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unexpected response body with status " + getStatusCode() + ": " + tree, e);
+        }
+    }
+}
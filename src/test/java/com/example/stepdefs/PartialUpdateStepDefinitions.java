@@ -0,0 +1,171 @@
+package com.example.stepdefs;
+
+import com.example.config.HttpClientConfiguration;
+import com.example.config.TestConfiguration;
+import com.example.mock.UserCodec;
+import com.example.models.ErrorResponse;
+import com.example.models.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.cucumber.datatable.DataTable;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Steps for partial user updates with JSON Merge Patch. A table value of {@code null}
+ * sends an explicit JSON null, which removes the field; fields left out of the table
+ * are left out of the patch. The edit loops compare request bytes and latency of merge
+ * patches against full-body PUTs for the same change.
+ */
+public class PartialUpdateStepDefinitions {
+
+    private static final HttpClient HTTP_CLIENT = HttpClientConfiguration.jdk();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    private final UserCodec codec = UserCodec.shared();
+    private TestConfiguration testConfig;
+    private Scenario scenario;
+    private HttpResponse<byte[]> response;
+    private final EditStats fullUpdates = new EditStats("full updates");
+    private final EditStats mergePatches = new EditStats("merge patches");
+
+    @Before
+    public void setUp(Scenario scenario) {
+        this.scenario = scenario;
+        testConfig = TestConfiguration.forCurrentWorker();
+    }
+
+    @When("I patch user {string} with:")
+    public void iPatchUserWith(String userId, DataTable dataTable) throws Exception {
+        ObjectNode patch = OBJECT_MAPPER.createObjectNode();
+        for (Map.Entry<String, String> field : dataTable.asMap(String.class, String.class).entrySet()) {
+            if (field.getValue().equals("null")) {
+                patch.putNull(field.getKey());
+            } else if (field.getKey().equals("age")) {
+                patch.put(field.getKey(), Integer.parseInt(field.getValue()));
+            } else {
+                patch.put(field.getKey(), field.getValue());
+            }
+        }
+        response = send(patchRequest(userId, OBJECT_MAPPER.writeValueAsBytes(patch), MERGE_PATCH_JSON));
+    }
+
+    @When("I send the patch {string} to user {string} as {string}")
+    public void iSendThePatchToUserAs(String patch, String userId, String contentType) throws Exception {
+        response = send(patchRequest(userId, patch.getBytes(StandardCharsets.UTF_8), contentType));
+    }
+
+    @When("I change the firstName of user {string} {int} times with full updates")
+    public void iChangeTheFirstNameTimesWithFullUpdates(String userId, int times) throws Exception {
+        User user = codec.decode(send(request(userId).GET().build()).body());
+        for (int i = 0; i < times; i++) {
+            user.setFirstName("Edit" + i);
+            byte[] body = codec.encode(user);
+            fullUpdates.time(body.length, () -> send(request(userId).PUT(HttpRequest.BodyPublishers.ofByteArray(body)).build()));
+        }
+    }
+
+    @When("I change the firstName of user {string} {int} times with merge patches")
+    public void iChangeTheFirstNameTimesWithMergePatches(String userId, int times) throws Exception {
+        for (int i = 0; i < times; i++) {
+            byte[] body = OBJECT_MAPPER.writeValueAsBytes(OBJECT_MAPPER.createObjectNode().put("firstName", "Edit" + i));
+            mergePatches.time(body.length, () -> send(patchRequest(userId, body, MERGE_PATCH_JSON)));
+        }
+    }
+
+    @Then("the patch should have returned status {int}")
+    public void thePatchShouldHaveReturnedStatus(int status) {
+        assertThat(response.statusCode()).as(new String(response.body(), StandardCharsets.UTF_8)).isEqualTo(status);
+    }
+
+    @Then("the patch should have been rejected with violation {string}")
+    public void thePatchShouldHaveBeenRejectedWithViolation(String violation) throws IOException {
+        assertThat(response.statusCode()).isEqualTo(400);
+        ErrorResponse error = OBJECT_MAPPER.readValue(response.body(), ErrorResponse.class);
+        assertThat(error.getViolations()).containsExactly(violation);
+    }
+
+    @Then("user {string} should now have:")
+    public void userShouldNowHave(String userId, DataTable dataTable) throws Exception {
+        HttpResponse<byte[]> current = send(request(userId).GET().build());
+        assertThat(current.statusCode()).isEqualTo(200);
+        JsonNode actual = OBJECT_MAPPER.readTree(current.body());
+        for (Map.Entry<String, String> field : dataTable.asMap(String.class, String.class).entrySet()) {
+            assertThat(actual.path(field.getKey()).asText()).as(field.getKey()).isEqualTo(field.getValue());
+        }
+    }
+
+    @Then("the merge patches should have sent at least {int}% fewer request bytes than the full updates")
+    public void theMergePatchesShouldHaveSentFewerRequestBytes(int percent) {
+        scenario.log(fullUpdates.toString());
+        scenario.log(mergePatches.toString());
+        assertThat(fullUpdates.edits).isPositive().isEqualTo(mergePatches.edits);
+        assertThat(fullUpdates.failed + mergePatches.failed).as("failed edits").isZero();
+        assertThat(fullUpdates.requestBytes - mergePatches.requestBytes)
+                .isGreaterThanOrEqualTo(fullUpdates.requestBytes * percent / 100);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpRequest patchRequest(String userId, byte[] patch, String contentType) {
+        return request(userId)
+                .setHeader("Content-Type", contentType)
+                .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(patch))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String userId) {
+        return HttpRequest.newBuilder(URI.create(testConfig.getBaseUrl() + "/users/" + userId))
+                .setHeader("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    @FunctionalInterface
+    private interface Edit {
+        HttpResponse<byte[]> send() throws IOException, InterruptedException;
+    }
+
+    private static final class EditStats {
+        private final String name;
+        private int edits;
+        private int failed;
+        private long requestBytes;
+        private long nanos;
+
+        EditStats(String name) {
+            this.name = name;
+        }
+
+        void time(int bodyBytes, Edit edit) throws IOException, InterruptedException {
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = edit.send();
+            nanos += System.nanoTime() - start;
+            edits++;
+            failed += response.statusCode() == 200 ? 0 : 1;
+            requestBytes += bodyBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d %s: %d request body bytes (%.1f per edit), %.3f ms mean latency",
+                    edits, name, requestBytes, (double) requestBytes / Math.max(1, edits),
+                    nanos / 1e6 / Math.max(1, edits));
+        }
+    }
+}
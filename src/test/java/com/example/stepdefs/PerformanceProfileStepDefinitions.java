@@ -0,0 +1,132 @@
+package com.example.stepdefs;
+
+import com.example.config.HttpClientConfiguration;
+import com.example.config.TestConfiguration;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Steps for running scenarios under a {@link com.example.mock.PerformanceProfile}. A profile
+ * is chosen with a {@code @Profile:<name>} tag or explicitly with a step.
+ */
+public class PerformanceProfileStepDefinitions {
+
+    private static final String PROFILE_TAG = "@Profile:";
+    private static final String CONNECTION_RESET = "connection reset";
+
+    private TestConfiguration testConfig;
+    private Scenario scenario;
+    private String lastPath;
+    private int lastCount;
+    private List<String> outcomes = new ArrayList<>();
+    private List<String> previousOutcomes;
+    private final List<Long> latenciesMillis = new ArrayList<>();
+
+    // Runs after the default-order hooks so the scenario reset does not undo the tag
+    @Before(order = 20000)
+    public void applyProfileTag(Scenario scenario) {
+        this.scenario = scenario;
+        testConfig = TestConfiguration.forCurrentWorker();
+        for (String tag : scenario.getSourceTagNames()) {
+            if (tag.startsWith(PROFILE_TAG)) {
+                testConfig.usePerformanceProfile(tag.substring(PROFILE_TAG.length()));
+            }
+        }
+    }
+
+    @Given("the user service uses the {string} performance profile")
+    public void theUserServiceUsesThePerformanceProfile(String profile) {
+        testConfig.usePerformanceProfile(profile);
+    }
+
+    @Given("the user service uses the {string} performance profile with seed {long}")
+    public void theUserServiceUsesThePerformanceProfileWithSeed(String profile, long seed) {
+        testConfig.usePerformanceProfile(profile, seed);
+    }
+
+    @When("I request the user profile for ID {string} {int} times")
+    public void iRequestTheUserProfileTimes(String userId, int count) throws InterruptedException {
+        lastPath = "/users/" + userId;
+        lastCount = count;
+        sendRepeatedly(lastPath, count);
+    }
+
+    @When("the same requests are replayed with seed {long}")
+    public void theSameRequestsAreReplayedWithSeed(long seed) throws InterruptedException {
+        testConfig.usePerformanceProfile(testConfig.getPerformanceProfile().getName(), seed);
+        previousOutcomes = outcomes;
+        outcomes = new ArrayList<>();
+        latenciesMillis.clear();
+        sendRepeatedly(lastPath, lastCount);
+    }
+
+    @Then("every request should have succeeded")
+    public void everyRequestShouldHaveSucceeded() {
+        assertThat(outcomes).containsOnly("200");
+    }
+
+    @Then("at least one request should have failed with {string}")
+    public void atLeastOneRequestShouldHaveFailedWith(String outcome) {
+        assertThat(outcomes).contains(outcome);
+    }
+
+    @Then("both runs should have produced the same outcomes")
+    public void bothRunsShouldHaveProducedTheSameOutcomes() {
+        assertThat(outcomes).isEqualTo(previousOutcomes);
+    }
+
+    @Then("the median latency should be at least {long} ms")
+    public void theMedianLatencyShouldBeAtLeast(long millis) {
+        assertThat(percentile(50)).isGreaterThanOrEqualTo(millis);
+    }
+
+    @Then("the median latency should be below {long} ms")
+    public void theMedianLatencyShouldBeBelow(long millis) {
+        assertThat(percentile(50)).isLessThan(millis);
+    }
+
+    @Then("the p99 latency should be at least {long} ms")
+    public void theP99LatencyShouldBeAtLeast(long millis) {
+        assertThat(percentile(99)).isGreaterThanOrEqualTo(millis);
+    }
+
+    private void sendRepeatedly(String path, int count) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(testConfig.getBaseUrl() + path)).GET().build();
+        // The JDK client silently retries a GET reset on a reused connection, which costs the mock an extra
+        // draw. Starting every run from an empty pool makes those retries, and so the outcomes, replayable.
+        HttpClient httpClient = HttpClientConfiguration.newJdkClient();
+        for (int i = 0; i < count; i++) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                outcomes.add(String.valueOf(response.statusCode()));
+            } catch (IOException e) {
+                outcomes.add(CONNECTION_RESET);
+            }
+            latenciesMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        scenario.log(String.format("%d requests under profile %s: p50=%dms p99=%dms max=%dms", count,
+                testConfig.getPerformanceProfile(), percentile(50), percentile(99), percentile(100)));
+    }
+
+    private long percentile(double percentile) {
+        List<Long> sorted = new ArrayList<>(latenciesMillis);
+        sorted.sort(null);
+        int index = (int) Math.ceil(percentile / 100 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.stepdefs;
+
+import com.example.config.HttpClientConfiguration;
+import com.example.config.TestConfiguration;
+import com.example.mock.SyntheticUsers;
+import com.example.mock.UserCodec;
+import com.example.models.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.cucumber.datatable.DataTable;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Steps for bulk seeding through {@code POST /users/batch}. Batches are written as
+ * NDJSON and per-item results are read back with a streaming parser.
+ */
+public class UserBatchStepDefinitions {
+
+    private static final HttpClient HTTP_CLIENT = HttpClientConfiguration.jdk();
+
+    private final UserCodec codec = UserCodec.shared();
+    private TestConfiguration testConfig;
+    private Scenario scenario;
+    private final List<BatchResult> retainedResults = new ArrayList<>();
+    private long created;
+    private long rejected;
+    private HttpResponse<String> rawResponse;
+
+    @Before
+    public void setUp(Scenario scenario) {
+        this.scenario = scenario;
+        testConfig = TestConfiguration.forCurrentWorker();
+    }
+
+    @When("I create {int} users in batches of {int}")
+    public void iCreateUsersInBatchesOf(int count, int batchSize) throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(batchSize * 128);
+        long start = System.nanoTime();
+        int batches = 0;
+        for (int offset = 0; offset < count; offset += batchSize) {
+            body.reset();
+            try (JsonGenerator generator = codec.generator(body)) {
+                for (int i = offset; i < Math.min(count, offset + batchSize); i++) {
+                    User user = SyntheticUsers.user(i);
+                    user.setId(null);
+                    codec.write(generator, user);
+                    generator.writeRaw('\n');
+                }
+            }
+            submit(body.toByteArray(), "application/x-ndjson", false);
+            batches++;
+        }
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        scenario.log(String.format("Created %d users in %d batch(es) of %d in %d ms (%d users/s)",
+                created, batches, batchSize, millis, created * 1000 / millis));
+    }
+
+    @When("I submit a batch of users:")
+    public void iSubmitABatchOfUsers(DataTable dataTable) throws Exception {
+        List<User> users = new ArrayList<>();
+        for (Map<String, String> row : dataTable.asMaps(String.class, String.class)) {
+            users.add(User.builder()
+                    .firstName(row.get("firstName"))
+                    .lastName(row.get("lastName"))
+                    .email(row.get("email"))
+                    .age(row.get("age") == null ? null : Integer.valueOf(row.get("age")))
+                    .build());
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonGenerator generator = codec.generator(body)) {
+            generator.writeStartArray();
+            for (User user : users) {
+                codec.write(generator, user);
+            }
+            generator.writeEndArray();
+        }
+        submit(body.toByteArray(), "application/json", true);
+    }
+
+    @When("I submit the batch {string}")
+    public void iSubmitTheBatch(String batch) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(testConfig.getBaseUrl() + "/users/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(batch))
+                .build();
+        rawResponse = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Then("the batch should have been rejected as malformed at item {int}")
+    public void theBatchShouldHaveBeenRejectedAsMalformedAtItem(int index) {
+        assertThat(rawResponse.statusCode()).isEqualTo(400);
+        assertThat(rawResponse.body()).contains("Malformed batch payload at item " + index);
+    }
+
+    @Then("all {int} batch users should be created")
+    public void allBatchUsersShouldBeCreated(int expected) {
+        assertThat(created).isEqualTo(expected);
+        assertThat(rejected).isZero();
+    }
+
+    @Then("{int} batch users should be created and {int} rejected")
+    public void batchUsersShouldBeCreatedAndRejected(int expectedCreated, int expectedRejected) {
+        assertThat(created).isEqualTo(expectedCreated);
+        assertThat(rejected).isEqualTo(expectedRejected);
+    }
+
+    @Then("batch item {int} should be created")
+    public void batchItemShouldBeCreated(int index) {
+        BatchResult result = retainedResults.get(index);
+        assertThat(result.status).isEqualTo(201);
+        assertThat(testConfig.getUserStore().find(result.id)).isPresent();
+    }
+
+    @Then("batch item {int} should be rejected with {string}")
+    public void batchItemShouldBeRejectedWith(int index, String expectedMessage) {
+        BatchResult result = retainedResults.get(index);
+        assertThat(result.status).isEqualTo(400);
+        assertThat(result.message).containsIgnoringCase(expectedMessage);
+    }
+
+    @Then("the user store should contain {int} users")
+    public void theUserStoreShouldContainUsers(int expected) {
+        assertThat(testConfig.getUserStore().size()).isEqualTo(expected);
+    }
+
+    private void submit(byte[] body, String contentType, boolean retainResults) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(testConfig.getBaseUrl() + "/users/batch"))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        HttpResponse<InputStream> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        try (InputStream in = response.body(); JsonParser parser = codec.parser(in)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("results".equals(field)) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        BatchResult result = readResult(parser);
+                        if (result.status == 201) {
+                            created++;
+                        } else {
+                            rejected++;
+                        }
+                        if (retainResults) {
+                            retainedResults.add(result);
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static BatchResult readResult(JsonParser parser) throws IOException {
+        BatchResult result = new BatchResult();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "status":
+                    result.status = parser.getIntValue();
+                    break;
+                case "id":
+                    result.id = parser.getText();
+                    break;
+                case "message":
+                    result.message = parser.getText();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return result;
+    }
+
+    private static final class BatchResult {
+        int status;
+        String id;
+        String message;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.stepdefs;
+
+import com.example.config.HttpClientConfiguration;
+import com.example.config.TestConfiguration;
+import com.example.mock.SyntheticUsers;
+import com.example.mock.UserCodec;
+import com.example.models.User;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Steps for the listing and export endpoints. Responses are consumed with a streaming
+ * parser, one user at a time, so memory stays flat regardless of result size.
+ */
+public class UserListingStepDefinitions {
+
+    private static final HttpClient HTTP_CLIENT = HttpClientConfiguration.jdk();
+
+    private final UserCodec codec = UserCodec.shared();
+    private TestConfiguration testConfig;
+    private Scenario scenario;
+    private long usersReceived;
+    private long usersOutOfOrder;
+    private int pagesReceived;
+
+    @Before
+    public void setUp(Scenario scenario) {
+        this.scenario = scenario;
+        testConfig = TestConfiguration.forCurrentWorker();
+    }
+
+    @Given("the user directory contains {long} users")
+    public void theUserDirectoryContainsUsers(long count) {
+        testConfig.getUserStore().setSyntheticUsers(count);
+    }
+
+    @When("I page through all users with a page size of {int}")
+    public void iPageThroughAllUsersWithAPageSizeOf(int pageSize) throws Exception {
+        long start = System.nanoTime();
+        String cursor = null;
+        do {
+            String query = "?limit=" + pageSize
+                    + (cursor == null ? "" : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.US_ASCII));
+            try (InputStream body = get("/users" + query, 200);
+                 JsonParser parser = codec.parser(body)) {
+                cursor = readPage(parser);
+            }
+            pagesReceived++;
+        } while (cursor != null);
+        report("Paged", start);
+    }
+
+    @When("I export all users")
+    public void iExportAllUsers() throws Exception {
+        long start = System.nanoTime();
+        try (InputStream body = get("/users/export", 200);
+             JsonParser parser = codec.parser(body)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                accept(codec.read(parser));
+            }
+        }
+        report("Exported", start);
+    }
+
+    @Then("{long} users should have been received")
+    public void usersShouldHaveBeenReceived(long expected) {
+        assertThat(usersReceived).isEqualTo(expected);
+    }
+
+    @Then("the users should have been received in order")
+    public void theUsersShouldHaveBeenReceivedInOrder() {
+        assertThat(usersOutOfOrder).isZero();
+    }
+
+    @Then("the request for page size {int} with cursor {string} should fail with status code {int}")
+    public void theRequestForPageWithCursorShouldFail(int pageSize, String cursor, int expectedStatus) throws Exception {
+        get("/users?limit=" + pageSize + "&cursor=" + cursor, expectedStatus).close();
+    }
+
+    private String readPage(JsonParser parser) throws IOException {
+        String nextCursor = null;
+        parser.nextToken();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("users".equals(field)) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    accept(codec.read(parser));
+                }
+            } else if ("nextCursor".equals(field)) {
+                nextCursor = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return nextCursor;
+    }
+
+    private void accept(User user) {
+        if (!SyntheticUsers.id(usersReceived).equals(user.getId())) {
+            usersOutOfOrder++;
+        }
+        usersReceived++;
+    }
+
+    private InputStream get(String pathAndQuery, int expectedStatus) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(testConfig.getBaseUrl() + pathAndQuery)).GET().build();
+        HttpResponse<InputStream> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(expectedStatus);
+        return response.body();
+    }
+
+    private void report(String action, long startNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        scenario.log(String.format("%s %d users in %d ms (%d page(s))", action, usersReceived, millis, Math.max(1, pagesReceived)));
+    }
+}
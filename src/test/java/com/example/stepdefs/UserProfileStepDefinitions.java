@@ -1,10 +1,15 @@
 package com.example.stepdefs;
 
+import com.example.config.HttpClientConfiguration;
 import com.example.config.TestConfiguration;
+import com.example.contracts.ContractValidator.Contract;
+import com.example.mock.UserCodec;
 import com.example.models.User;
+import com.example.timing.PhaseTimer;
 import io.cucumber.datatable.DataTable;
-import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
@@ -12,58 +17,50 @@ import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
 import java.util.Map;
+import java.util.function.Supplier;
 
+import static com.example.timing.PhaseTimer.Phase.ASSERTION;
+import static com.example.timing.PhaseTimer.Phase.REQUEST;
+import static com.example.timing.PhaseTimer.Phase.STUB_SETUP;
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.hamcrest.Matchers.equalTo;
 
 public class UserProfileStepDefinitions {
 
+    private final UserCodec codec = UserCodec.shared();
     private TestConfiguration testConfig;
     private RequestSpecification requestSpec;
-    private Response response;
+    private ParsedResponse response;
     private User currentUser;
     private String baseUrl;
 
     @Before
-    public void setUp() {
-        testConfig = new TestConfiguration();
-        testConfig.startWireMockServer();
-        baseUrl = testConfig.getBaseUrl();
-
-        requestSpec = given()
-                .baseUri(baseUrl)
-                .contentType("application/json")
-                .accept("application/json");
+    public void setUp(Scenario scenario) {
+        testConfig = TestConfiguration.forCurrentWorker();
+        PhaseTimer.time(STUB_SETUP, () -> testConfig.beginScenario(scenario.getSourceTagNames()));
     }
 
-    @After
-    public void tearDown() {
-        if (testConfig != null) {
-            testConfig.stopWireMockServer();
-        }
+    @AfterAll
+    public static void tearDown() {
+        TestConfiguration.shutdownAll();
     }
 
     @Given("the user service is running")
     public void theUserServiceIsRunning() {
-        testConfig.setupCommonStubs();
-        // Verify service health
-        response = requestSpec.get("/health");
-        assertThat(response.getStatusCode()).isEqualTo(200);
+        // /health is a static classpath mapping, so only its health needs checking
+        response = send(Contract.HEALTH, () -> requestSpec().get("/health"));
+        verify(() -> assertThat(response.getStatusCode()).isEqualTo(200));
     }
 
     @Given("the API is available at {string}")
     public void theApiIsAvailableAt(String url) {
-        this.baseUrl = url;
-        requestSpec = given()
-                .baseUri(baseUrl)
-                .contentType("application/json")
-                .accept("application/json");
+        // ${baseUrl} resolves to the mock owned by this worker
+        this.baseUrl = url.replace("${baseUrl}", testConfig.getBaseUrl());
+        requestSpec = requestSpec(baseUrl);
     }
 
     @Given("a user exists with ID {string}")
     public void aUserExistsWithId(String userId) {
-        testConfig.setupUserExistsStub(userId);
         currentUser = User.builder()
                 .id(userId)
                 .firstName("John")
@@ -71,11 +68,12 @@ public class UserProfileStepDefinitions {
                 .email("john@example.com")
                 .age(30)
                 .build();
+        PhaseTimer.time(STUB_SETUP, () -> testConfig.seedUser(currentUser));
     }
 
     @Given("a user does not exist with ID {string}")
     public void aUserDoesNotExistWithId(String userId) {
-        testConfig.setupUserNotFoundStub(userId);
+        PhaseTimer.time(STUB_SETUP, () -> testConfig.removeUser(userId));
     }
 
     @When("I create a user with details:")
@@ -89,11 +87,9 @@ public class UserProfileStepDefinitions {
                 .age(Integer.parseInt(userData.get("age")))
                 .build();
 
-        testConfig.setupCreateUserStub(currentUser);
-
-        response = requestSpec
-                .body(currentUser)
-                .post("/users");
+        response = send(() -> requestSpec()
+                .body(codec.encode(currentUser))
+                .post("/users"));
     }
 
     @When("I attempt to create a user with invalid data:")
@@ -104,14 +100,12 @@ public class UserProfileStepDefinitions {
                 .firstName(userData.get("firstName"))
                 .lastName(userData.get("lastName"))
                 .email(userData.get("email"))
-                .age(userData.get("age").isEmpty() ? 0 : Integer.parseInt(userData.get("age")))
+                .age(userData.get("age") == null ? null : Integer.valueOf(userData.get("age")))
                 .build();
 
-        testConfig.setupValidationErrorStub(userData);
-
-        response = requestSpec
-                .body(invalidUser)
-                .post("/users");
+        response = send(() -> requestSpec()
+                .body(codec.encode(invalidUser))
+                .post("/users"));
     }
 
     @When("I update the user profile with details:")
@@ -126,18 +120,16 @@ public class UserProfileStepDefinitions {
                 .age(Integer.parseInt(userData.get("age")))
                 .build();
 
-        testConfig.setupUpdateUserStub(updatedUser);
-
-        response = requestSpec
-                .body(updatedUser)
-                .put("/users/" + updatedUser.getId());
+        response = send(() -> requestSpec()
+                .body(codec.encode(updatedUser))
+                .put("/users/" + updatedUser.getId()));
 
         currentUser = updatedUser;
     }
 
     @When("I request the user profile for ID {string}")
     public void iRequestTheUserProfileForId(String userId) {
-        response = requestSpec.get("/users/" + userId);
+        response = send(() -> requestSpec().get("/users/" + userId));
     }
 
     @When("I update the user profile with:")
@@ -152,19 +144,16 @@ public class UserProfileStepDefinitions {
                 .age(Integer.parseInt(userData.get("age")))
                 .build();
 
-        testConfig.setupUpdateUserStub(updatedUser);
-
-        response = requestSpec
-                .body(updatedUser)
-                .put("/users/" + currentUser.getId());
+        response = send(() -> requestSpec()
+                .body(codec.encode(updatedUser))
+                .put("/users/" + currentUser.getId()));
 
         currentUser = updatedUser;
     }
 
     @When("I delete the user with ID {string}")
     public void iDeleteTheUserWithId(String userId) {
-        testConfig.setupDeleteUserStub(userId);
-        response = requestSpec.delete("/users/" + userId);
+        response = send(() -> requestSpec().delete("/users/" + userId));
     }
 
     @When("I attempt to create a user with invalid email {string}")
@@ -176,107 +165,142 @@ public class UserProfileStepDefinitions {
                 .age(25)
                 .build();
 
-        testConfig.setupInvalidEmailStub();
-
-        response = requestSpec
-                .body(invalidUser)
-                .post("/users");
+        response = send(() -> requestSpec()
+                .body(codec.encode(invalidUser))
+                .post("/users"));
     }
 
     @Then("the user should be created successfully")
     public void theUserShouldBeCreatedSuccessfully() {
-        assertThat(response.getStatusCode()).isEqualTo(201);
+        verify(() -> assertThat(response.getStatusCode()).isEqualTo(201));
     }
 
     @Then("the response should contain the user ID")
     public void theResponseShouldContainTheUserId() {
-        String userId = response.jsonPath().getString("id");
-        assertThat(userId).isNotNull().isNotEmpty();
-        currentUser.setId(userId);
+        verify(() -> {
+            String userId = response.user().getId();
+            assertThat(userId).isNotNull().isNotEmpty();
+            currentUser.setId(userId);
+        });
     }
 
     @Then("the user should have firstName {string}")
     public void theUserShouldHaveFirstName(String expectedFirstName) {
-        response.then().body("firstName", equalTo(expectedFirstName));
+        verify(() -> assertThat(response.user().getFirstName()).isEqualTo(expectedFirstName));
     }
 
     @Then("the user should have lastName {string}")
     public void theUserShouldHaveLastName(String expectedLastName) {
-        response.then().body("lastName", equalTo(expectedLastName));
+        verify(() -> assertThat(response.user().getLastName()).isEqualTo(expectedLastName));
     }
 
     @Then("the user should have email {string}")
     public void theUserShouldHaveEmail(String expectedEmail) {
-        response.then().body("email", equalTo(expectedEmail));
+        verify(() -> assertThat(response.user().getEmail()).isEqualTo(expectedEmail));
     }
 
     @Then("the user should have age {int}")
     public void theUserShouldHaveAge(int expectedAge) {
-        response.then().body("age", equalTo(expectedAge));
+        verify(() -> assertThat(response.user().getAge()).isEqualTo(expectedAge));
     }
 
     @Then("the updated profile should contain:")
     public void theUpdatedProfileShouldContain(DataTable dataTable) {
         Map<String, String> expectedData = dataTable.asMap(String.class, String.class);
 
-        response.then()
-                .body("firstName", equalTo(expectedData.get("firstName")))
-                .body("lastName", equalTo(expectedData.get("lastName")))
-                .body("email", equalTo(expectedData.get("email")))
-                .body("age", equalTo(Integer.parseInt(expectedData.get("age"))));
+        verify(() -> response.assertUser(userFrom(expectedData)));
     }
 
     @Then("the user profile should be returned")
     public void theUserProfileShouldBeReturned() {
-        assertThat(response.getStatusCode()).isEqualTo(200);
-        assertThat(response.jsonPath().getString("id")).isNotNull();
+        verify(() -> {
+            assertThat(response.getStatusCode()).isEqualTo(200);
+            assertThat(response.user().getId()).isNotNull();
+        });
     }
 
     @Then("the response should contain:")
     public void theResponseShouldContain(DataTable dataTable) {
         Map<String, String> expectedData = dataTable.asMap(String.class, String.class);
 
-        response.then()
-                .body("firstName", equalTo(expectedData.get("firstName")))
-                .body("lastName", equalTo(expectedData.get("lastName")))
-                .body("email", equalTo(expectedData.get("email")))
-                .body("age", equalTo(Integer.parseInt(expectedData.get("age"))));
+        verify(() -> response.assertUser(userFrom(expectedData)));
     }
 
     @Then("the user should be updated successfully")
     public void theUserShouldBeUpdatedSuccessfully() {
-        assertThat(response.getStatusCode()).isEqualTo(200);
+        verify(() -> assertThat(response.getStatusCode()).isEqualTo(200));
     }
 
     @Then("the updated profile should reflect the changes")
     public void theUpdatedProfileShouldReflectTheChanges() {
-        response.then()
-                .body("firstName", equalTo(currentUser.getFirstName()))
-                .body("lastName", equalTo(currentUser.getLastName()))
-                .body("email", equalTo(currentUser.getEmail()))
-                .body("age", equalTo(currentUser.getAge()));
+        verify(() -> response.assertUser(currentUser));
     }
 
     @Then("the user should be deleted successfully")
     public void theUserShouldBeDeletedSuccessfully() {
-        assertThat(response.getStatusCode()).isEqualTo(204);
+        verify(() -> assertThat(response.getStatusCode()).isEqualTo(204));
     }
 
     @Then("the user profile should no longer exist")
     public void theUserProfileShouldNoLongerExist() {
-        testConfig.setupUserNotFoundStub(currentUser.getId());
-        Response verifyResponse = requestSpec.get("/users/" + currentUser.getId());
-        assertThat(verifyResponse.getStatusCode()).isEqualTo(404);
+        ParsedResponse verifyResponse = send(() -> requestSpec().get("/users/" + currentUser.getId()));
+        verify(() -> assertThat(verifyResponse.getStatusCode()).isEqualTo(404));
     }
 
     @Then("the request should fail with status code {int}")
     public void theRequestShouldFailWithStatusCode(int expectedStatusCode) {
-        assertThat(response.getStatusCode()).isEqualTo(expectedStatusCode);
+        verify(() -> assertThat(response.getStatusCode()).isEqualTo(expectedStatusCode));
+    }
+
+    @Then("the error should be {string}")
+    public void theErrorShouldBe(String expectedError) {
+        verify(() -> assertThat(response.error().getError()).isEqualTo(expectedError));
     }
 
     @Then("the error message should indicate {string}")
     public void theErrorMessageShouldIndicate(String expectedMessage) {
-        String actualMessage = response.jsonPath().getString("message");
-        assertThat(actualMessage).containsIgnoringCase(expectedMessage);
+        verify(() -> {
+            String actualMessage = response.error().getMessage();
+            assertThat(actualMessage).containsIgnoringCase(expectedMessage);
+        });
+    }
+
+    private static User userFrom(Map<String, String> fields) {
+        return User.builder()
+                .firstName(fields.get("firstName"))
+                .lastName(fields.get("lastName"))
+                .email(fields.get("email"))
+                .age(Integer.parseInt(fields.get("age")))
+                .build();
+    }
+
+    // Built on first use, so the mock only starts for scenarios that send a request
+    private RequestSpecification requestSpec() {
+        if (requestSpec == null) {
+            baseUrl = testConfig.getBaseUrl();
+            requestSpec = requestSpec(baseUrl);
+        }
+        return requestSpec;
+    }
+
+    private static RequestSpecification requestSpec(String baseUrl) {
+        return given()
+                .config(HttpClientConfiguration.restAssured())
+                .baseUri(baseUrl)
+                .contentType("application/json")
+                .accept("application/json");
+    }
+
+    private ParsedResponse send(Supplier<Response> call) {
+        return send(Contract.USER, call);
+    }
+
+    private ParsedResponse send(Contract success, Supplier<Response> call) {
+        Response raw = PhaseTimer.time(REQUEST, call);
+        return PhaseTimer.time(ASSERTION, () -> new ParsedResponse(raw, codec, success));
+    }
+
+    private static void verify(Runnable assertion) {
+        PhaseTimer.time(ASSERTION, assertion);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package com.example.timing;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Attributes the time spent inside a step to a {@link Phase}. Totals are kept per
+ * thread, so parallel scenarios never share state, and are collected by
+ * {@link StepTimingPlugin} when the step finishes.
+ *
+ * <p>Only the outermost timed call counts: a stub reset that itself registers stubs
+ * is charged once, not twice.
+ */
+public final class PhaseTimer {
+
+    public enum Phase { STUB_SETUP, REQUEST, ASSERTION }
+
+    private static final ThreadLocal<PhaseTimer> CURRENT = ThreadLocal.withInitial(PhaseTimer::new);
+
+    private final long[] nanos = new long[Phase.values().length];
+    private int depth;
+
+    private PhaseTimer() {
+    }
+
+    public static <T> T time(Phase phase, Supplier<T> action) {
+        PhaseTimer timer = CURRENT.get();
+        long start = System.nanoTime();
+        timer.depth++;
+        try {
+            return action.get();
+        } finally {
+            if (--timer.depth == 0) {
+                timer.nanos[phase.ordinal()] += System.nanoTime() - start;
+            }
+        }
+    }
+
+    public static void time(Phase phase, Runnable action) {
+        time(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns the per-phase nanoseconds recorded on this thread since the last call, indexed by
+     * {@link Phase#ordinal()}, and starts a fresh interval.
+     */
+    static long[] drain() {
+        long[] nanos = CURRENT.get().nanos;
+        long[] drained = nanos.clone();
+        Arrays.fill(nanos, 0);
+        return drained;
+    }
+}
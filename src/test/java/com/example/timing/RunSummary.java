@@ -0,0 +1,51 @@
+package com.example.timing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Run-level figures, such as mock startup times and cache or contract statistics, that
+ * belong to no single scenario. Lines are collected during the run and written to a
+ * report file: {@link StepTimingPlugin} writes them as {@code run-summary.txt} next to
+ * the step timings when the run finishes.
+ */
+public final class RunSummary {
+
+    public static final String FILE_NAME = "run-summary.txt";
+
+    private static final Queue<String> LINES = new ConcurrentLinkedQueue<>();
+
+    private RunSummary() {
+    }
+
+    public static void add(String line) {
+        LINES.add(line);
+    }
+
+    public static void add(String format, Object... args) {
+        LINES.add(String.format(format, args));
+    }
+
+    /**
+     * Writes the lines collected so far to {@code file} and clears them.
+     */
+    public static void writeTo(Path file) {
+        List<String> lines = new ArrayList<>();
+        for (String line = LINES.poll(); line != null; line = LINES.poll()) {
+            lines.add(line);
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write run summary to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.timing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times every step and hook in nanoseconds and splits the time into the phases recorded
+ * with {@link PhaseTimer}. Totals are aggregated by step pattern, both across all
+ * scenarios ({@code *}) and per scenario tag, and written as {@code step-timings.json}
+ * and {@code step-timings.csv} when the run finishes, together with the
+ * {@link RunSummary}.
+ *
+ * <p>With {@code -Dtiming.baseline=<step-timings.json from an earlier run>}, steps whose
+ * mean time grew by more than {@code -Dtiming.regressionThreshold} (default 0.25) and
+ * at least {@code -Dtiming.regressionMinMillis} (default 1) are reported as regressions.
+ */
+public class StepTimingPlugin implements ConcurrentEventListener {
+
+    static final String ALL_SCENARIOS = "*";
+    private static final String[] COLUMNS = {"tag", "step", "count", "meanNanos", "maxNanos", "totalNanos",
+            "stubSetupNanos", "requestNanos", "assertionNanos", "otherNanos"};
+
+    private final File outputDirectory;
+    private final ConcurrentMap<String, ConcurrentMap<String, StepTimings>> byTag = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> stepStart = new ThreadLocal<>();
+
+    public StepTimingPlugin() {
+        this(new File("build/reports/step-timings"));
+    }
+
+    public StepTimingPlugin(File outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class, this::stepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::stepFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> runFinished());
+    }
+
+    private void stepStarted(TestStepStarted event) {
+        PhaseTimer.drain();
+        stepStart.set(System.nanoTime());
+    }
+
+    private void stepFinished(TestStepFinished event) {
+        long elapsed = System.nanoTime() - stepStart.get();
+        long[] phases = PhaseTimer.drain();
+        String step = describe(event.getTestStep());
+        record(ALL_SCENARIOS, step, elapsed, phases);
+        for (String tag : event.getTestCase().getTags()) {
+            record(tag, step, elapsed, phases);
+        }
+    }
+
+    private void record(String tag, String step, long elapsed, long[] phases) {
+        byTag.computeIfAbsent(tag, ignored -> new ConcurrentHashMap<>())
+                .computeIfAbsent(step, ignored -> new StepTimings())
+                .record(elapsed, phases);
+    }
+
+    private void runFinished() {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode report = mapper.createObjectNode();
+        ArrayNode steps = report.putArray("steps");
+        List<String[]> rows = new ArrayList<>();
+        sorted().forEach((tag, timings) -> timings.forEach((step, timing) -> {
+            String[] row = timing.row(tag, step);
+            rows.add(row);
+            ObjectNode node = steps.addObject().put("tag", tag).put("step", step);
+            for (int i = 2; i < COLUMNS.length; i++) {
+                node.put(COLUMNS[i], Long.parseLong(row[i]));
+            }
+        }));
+
+        List<String> regressions = compareWithBaseline(mapper, report.putArray("regressions"));
+        RunSummary.add("Step timings for %d step pattern(s) written to %s",
+                byTag.getOrDefault(ALL_SCENARIOS, new ConcurrentHashMap<>()).size(), outputDirectory);
+        regressions.forEach(RunSummary::add);
+        try {
+            outputDirectory.mkdirs();
+            mapper.writerWithDefaultPrettyPrinter().writeValue(new File(outputDirectory, "step-timings.json"), report);
+            try (PrintWriter csv = new PrintWriter(new File(outputDirectory, "step-timings.csv"), StandardCharsets.UTF_8)) {
+                csv.println(String.join(",", COLUMNS));
+                for (String[] row : rows) {
+                    row[1] = '"' + row[1].replace("\"", "\"\"") + '"';
+                    csv.println(String.join(",", row));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write step timings to " + outputDirectory, e);
+        }
+        RunSummary.writeTo(new File(outputDirectory, RunSummary.FILE_NAME).toPath());
+    }
+
+    private List<String> compareWithBaseline(ObjectMapper mapper, ArrayNode regressionsNode) {
+        List<String> regressions = new ArrayList<>();
+        String baselinePath = System.getProperty("timing.baseline");
+        if (baselinePath == null) {
+            return regressions;
+        }
+        double threshold = Double.parseDouble(System.getProperty("timing.regressionThreshold", "0.25"));
+        long minNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("timing.regressionMinMillis", 1L));
+
+        JsonNode baseline;
+        try {
+            baseline = mapper.readTree(new File(baselinePath));
+        } catch (IOException e) {
+            regressions.add("Step timing baseline " + baselinePath + " could not be read: " + e.getMessage());
+            return regressions;
+        }
+        for (JsonNode previous : baseline.path("steps")) {
+            StepTimings current = byTag.getOrDefault(previous.path("tag").asText(), new ConcurrentHashMap<>())
+                    .get(previous.path("step").asText());
+            if (current == null) {
+                continue;
+            }
+            long before = previous.path("meanNanos").asLong();
+            long now = current.meanNanos();
+            if (now - before >= minNanos && now > before * (1 + threshold)) {
+                regressionsNode.addObject()
+                        .put("tag", previous.path("tag").asText())
+                        .put("step", previous.path("step").asText())
+                        .put("baselineMeanNanos", before)
+                        .put("meanNanos", now);
+                regressions.add(String.format("REGRESSION [%s] %s: mean %.2f ms -> %.2f ms",
+                        previous.path("tag").asText(), previous.path("step").asText(), before / 1e6, now / 1e6));
+            }
+        }
+        return regressions;
+    }
+
+    private Map<String, Map<String, StepTimings>> sorted() {
+        Map<String, Map<String, StepTimings>> sorted = new TreeMap<>();
+        byTag.forEach((tag, timings) -> sorted.put(tag, new TreeMap<>(timings)));
+        return sorted;
+    }
+
+    private static String describe(TestStep step) {
+        if (step instanceof PickleStepTestStep) {
+            return ((PickleStepTestStep) step).getPattern();
+        }
+        if (step instanceof HookTestStep) {
+            return "@" + ((HookTestStep) step).getHookType() + " " + step.getCodeLocation();
+        }
+        return step.getCodeLocation();
+    }
+
+    private static final class StepTimings {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] phaseNanos = new LongAdder[PhaseTimer.Phase.values().length];
+
+        StepTimings() {
+            for (int i = 0; i < phaseNanos.length; i++) {
+                phaseNanos[i] = new LongAdder();
+            }
+        }
+
+        void record(long elapsed, long[] phases) {
+            count.increment();
+            totalNanos.add(elapsed);
+            maxNanos.accumulate(elapsed);
+            for (int i = 0; i < phases.length; i++) {
+                phaseNanos[i].add(phases[i]);
+            }
+        }
+
+        long meanNanos() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / n;
+        }
+
+        String[] row(String tag, String step) {
+            long total = totalNanos.sum();
+            long stubSetup = phaseNanos[PhaseTimer.Phase.STUB_SETUP.ordinal()].sum();
+            long request = phaseNanos[PhaseTimer.Phase.REQUEST.ordinal()].sum();
+            long assertion = phaseNanos[PhaseTimer.Phase.ASSERTION.ordinal()].sum();
+            return new String[]{tag, step, String.valueOf(count.sum()), String.valueOf(meanNanos()),
+                    String.valueOf(maxNanos.get()), String.valueOf(total), String.valueOf(stubSetup),
+                    String.valueOf(request), String.valueOf(assertion),
+                    String.valueOf(Math.max(0, total - stubSetup - request - assertion))};
+        }
+    }
+}
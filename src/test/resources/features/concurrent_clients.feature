@@ -0,0 +1,26 @@
+@Concurrency
+Feature: Concurrent Clients
+  As a client developer
+  I want to hit the user service with many requests at once
+  So that races in the service show up before production does
+
+  Background:
+    Given the user service is running
+
+  Scenario: Create many users concurrently
+    When 1000 users are created concurrently
+    Then all concurrent requests should have returned status 201
+    And every concurrently created user should have a unique ID
+    And the user store should contain 1000 users
+    And the concurrent p99 latency should be below 5000 ms
+
+  Scenario: Many clients read the same user simultaneously
+    Given a user exists with ID "123"
+    When 200 clients read user "123" simultaneously
+    Then all concurrent requests should have returned status 200
+
+  Scenario: Only one of many simultaneous deletes succeeds
+    Given a user exists with ID "123"
+    When 50 clients delete user "123" simultaneously
+    Then 1 concurrent request should have returned status 204
+    And 49 concurrent requests should have returned status 404
@@ -0,0 +1,53 @@
+@ConditionalRequests
+Feature: Conditional Requests and Compression
+  As a client developer
+  I want user resources to carry ETags and honour conditional headers
+  So that HTTP caching and optimistic concurrency can be tested against the mock
+
+  Background:
+    Given the user service is running
+    And a user exists with ID "etag-123"
+
+  Scenario: Repeated fetches of an unchanged user are not modified
+    When I fetch user "etag-123" and remember its ETag
+    And I fetch user "etag-123" 50 times with If-None-Match
+    Then every conditional fetch should have been answered with 304 Not Modified
+    And the conditional fetches should have saved at least 99% of the response bytes
+
+  Scenario: A changed user is fetched in full with a new ETag
+    When I fetch user "etag-123" and remember its ETag
+    And user "etag-123" is changed to firstName "Johnny" by another client
+    And I fetch user "etag-123" 1 times with If-None-Match
+    Then the conditional fetch should return the user with firstName "Johnny" and a new ETag
+
+  Scenario: Saving identical details keeps the ETag
+    When I fetch user "etag-123" and remember its ETag
+    And user "etag-123" is saved again unchanged by another client
+    And I fetch user "etag-123" 5 times with If-None-Match
+    Then every conditional fetch should have been answered with 304 Not Modified
+
+  Scenario: Writes with a stale ETag are rejected
+    When I fetch user "etag-123" and remember its ETag
+    And user "etag-123" is changed to firstName "Johnny" by another client
+    And I change user "etag-123" to firstName "Jack" if it still matches the remembered ETag
+    Then the conditional request should have returned status 412
+    When I delete user "etag-123" if it still matches the remembered ETag
+    Then the conditional request should have returned status 412
+    When I fetch user "etag-123" and remember its ETag
+    And I change user "etag-123" to firstName "Jack" if it still matches the remembered ETag
+    Then the conditional request should have returned status 200
+    When I fetch user "etag-123" and remember its ETag
+    And I delete user "etag-123" if it still matches the remembered ETag
+    Then the conditional request should have returned status 204
+
+  Scenario: Writes compare If-Match strongly
+    When I fetch user "etag-123" and remember its ETag
+    And the remembered ETag is sent as a weak tag
+    And I change user "etag-123" to firstName "Jack" if it still matches the remembered ETag
+    Then the conditional request should have returned status 412
+    When I delete user "etag-123" if it still matches the remembered ETag
+    Then the conditional request should have returned status 412
+
+  Scenario: User bodies are gzipped for clients that accept it
+    When I fetch user "etag-123" accepting gzip
+    Then the gzipped response should decode to user "etag-123"
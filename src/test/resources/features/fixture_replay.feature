@@ -0,0 +1,29 @@
+@Fixtures
+Feature: Recorded Fixture Replay
+  As a test engineer
+  I want to record user traffic once and replay it from a fixture file
+  So that large captured populations can be served without rebuilding them in Java
+
+  Background:
+    Given the user service is running
+
+  Scenario: Recorded traffic replays with identical responses
+    Given fixtures are being recorded
+    When 50 users are created, fetched and updated
+    And recording stops and the user store is cleared
+    And the fixture file is replayed
+    Then the fixture store should hold 150 fixtures
+    And replaying the recorded requests should return the recorded responses
+
+  Scenario: A large fixture file is mapped and served
+    Given a fixture file of 200000 recorded user reads
+    When the fixture file is replayed
+    Then the fixture store should hold 200000 fixtures
+    And 1000 sampled recorded users should be served from the fixtures
+    And users that were not recorded should still be served by the mock
+
+  Scenario: A record with an oversized field is rejected without corrupting the file
+    Given a fixture file of 100 recorded user reads with a rejected 40000 byte URL halfway
+    When the fixture file is replayed
+    Then the fixture store should hold 100 fixtures
+    And 100 sampled recorded users should be served from the fixtures
@@ -0,0 +1,23 @@
+@GeneratedUsers @Load
+Feature: Generated User Populations
+  As a test author
+  I want to run the data-driven flows over large seeded populations
+  So that validation and persistence are covered far beyond a hand-written Examples table
+
+  Background:
+    Given the user service is running
+
+  @GeneratedCreate
+  Scenario: Create and remove a large generated population
+    Given 100000 generated users
+    When each generated user is created and then deleted
+    Then every generated user should have been accepted or rejected as expected
+    And the generated users should have covered every validation rule
+
+  @GeneratedUpdate
+  Scenario: Apply generated profiles as updates to one user
+    Given a user exists with ID "test-123"
+    And 20000 generated users with seed 7 and 50% invalid
+    When each generated user is applied as an update to user "test-123"
+    Then every generated user should have been accepted or rejected as expected
+    And the generated users should have covered every validation rule
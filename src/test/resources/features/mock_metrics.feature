@@ -0,0 +1,34 @@
+@MockMetrics
+Feature: Mock Service Metrics
+  As a performance engineer
+  I want the mock to count hits and latencies per endpoint and status
+  So that long runs can be observed without keeping every request in memory
+
+  Background:
+    Given the user service is running
+    And a user exists with ID "123"
+
+  Scenario: Hits are recorded per endpoint and status code
+    When I request the user profile for ID "123" 20 times
+    And I request the user profile for ID "missing" 5 times
+    Then the mock should have recorded 20 "GET /users/{id}" requests with status 200
+    And the mock should have recorded 5 "GET /users/{id}" requests with status 404
+    And the mock should have recorded 1 "GET /health" request with status 200
+    And the metrics endpoint should report 25 "GET /users/{id}" requests
+
+  Scenario: Requests outside the known endpoints share one series
+    When I request the user profile for ID "a/b" 3 times
+    And I request the user profile for ID "c/d" 2 times
+    Then the mock should have recorded 5 "GET other" requests with status 404
+    And the metrics endpoint should report 5 "GET other" requests
+
+  @Profile:saturated
+  Scenario: Latencies include the injected delay
+    When I request the user profile for ID "123" 5 times
+    Then the mock should have recorded 5 "GET /users/{id}" requests with status 200
+    And the recorded median latency of "GET /users/{id}" with status 200 should be at least 250 ms
+
+  Scenario: Step definitions reuse pooled keep-alive connections
+    When I request the user profile for ID "123"
+    And I request the user profile for ID "123" 50 times
+    Then at least 90% of requests should have reused a connection
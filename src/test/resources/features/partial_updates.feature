@@ -0,0 +1,50 @@
+@PartialUpdates
+Feature: Partial User Updates
+  As a client developer
+  I want to change single user fields with JSON Merge Patch
+  So that frequent profile edits do not resend the whole user
+
+  Background:
+    Given the user service is running
+    And a user exists with ID "patch-123"
+
+  Scenario: Only the fields in the patch change
+    When I patch user "patch-123" with:
+      | firstName | Johnny             |
+      | email     | johnny@example.com |
+    Then the patch should have returned status 200
+    And user "patch-123" should now have:
+      | id        | patch-123          |
+      | firstName | Johnny             |
+      | lastName  | Doe                |
+      | email     | johnny@example.com |
+      | age       | 30                 |
+
+  Scenario: An explicit null removes a field and fails validation
+    When I patch user "patch-123" with:
+      | lastName | null |
+    Then the patch should have been rejected with violation "LAST_NAME_REQUIRED"
+    When I patch user "patch-123" with:
+      | age | null |
+    Then the patch should have been rejected with violation "AGE_REQUIRED"
+    And user "patch-123" should now have:
+      | lastName | Doe |
+      | age      | 30  |
+
+  Scenario: Patched values are validated
+    When I patch user "patch-123" with:
+      | age | 200 |
+    Then the patch should have been rejected with violation "INVALID_AGE"
+
+  Scenario: Patches must be merge patch JSON objects
+    When I send the patch '{"firstName":"Johnny"}' to user "patch-123" as "application/json"
+    Then the patch should have returned status 415
+    When I send the patch '["firstName"]' to user "patch-123" as "application/merge-patch+json"
+    Then the patch should have returned status 400
+    When I send the patch '{"firstName":"Johnny"}' to user "missing-123" as "application/merge-patch+json"
+    Then the patch should have returned status 404
+
+  Scenario: Merge patches send far fewer bytes than full updates
+    When I change the firstName of user "patch-123" 200 times with full updates
+    And I change the firstName of user "patch-123" 200 times with merge patches
+    Then the merge patches should have sent at least 60% fewer request bytes than the full updates
@@ -0,0 +1,36 @@
+@PerformanceProfile
+Feature: User Service Performance Profiles
+  As a client developer
+  I want the user service to respond slowly or fail on demand
+  So that I can see how clients behave when the service is degraded
+
+  Background:
+    Given the user service is running
+    And a user exists with ID "123"
+
+  @Profile:fast
+  Scenario: Fast profile answers without injected latency
+    When I request the user profile for ID "123" 20 times
+    Then every request should have succeeded
+    And the median latency should be below 200 ms
+
+  @Profile:saturated
+  Scenario: Saturated profile delays and dribbles every response
+    When I request the user profile for ID "123" 5 times
+    Then every request should have succeeded
+    And the median latency should be at least 400 ms
+
+  Scenario: P99-spiky profile keeps a long latency tail
+    Given the user service uses the "p99-spiky" performance profile with seed 42
+    When I request the user profile for ID "123" 200 times
+    Then every request should have succeeded
+    And the median latency should be below 50 ms
+    And the p99 latency should be at least 100 ms
+
+  Scenario: Flaky profile injects reproducible failures
+    Given the user service uses the "flaky" performance profile with seed 7
+    When I request the user profile for ID "123" 100 times
+    Then at least one request should have failed with "503"
+    And the mock should have injected at least one connection reset on "GET /users/{id}"
+    When the same requests are replayed with seed 7
+    Then both runs should have produced the same outcomes
@@ -0,0 +1,38 @@
+@UserBatch
+Feature: Batch User Creation
+  As a test author
+  I want to seed many users in a few requests
+  So that bulk scenarios do not pay for one round trip per user
+
+  Background:
+    Given the user service is running
+
+  @BatchIngest
+  Scenario: Seed users in NDJSON batches
+    When I create 20000 users in batches of 1000
+    Then all 20000 batch users should be created
+    And the user store should contain 20000 users
+
+  @BatchValidation
+  Scenario: Report per-item validation failures in a batch
+    When I submit a batch of users:
+      | firstName | lastName | email          | age |
+      | John      | Doe      | john@email.com | 25  |
+      |           | Doe      | john@email.com | 25  |
+      | John      |          | john@email.com | 25  |
+      | John      | Doe      | invalid-email  | 25  |
+      | John      | Doe      | john@email.com | -1  |
+      | Jane      | Smith    | jane@email.com | 30  |
+    Then 2 batch users should be created and 4 rejected
+    And batch item 0 should be created
+    And batch item 1 should be rejected with "First name required"
+    And batch item 2 should be rejected with "Last name required"
+    And batch item 3 should be rejected with "Invalid email format"
+    And batch item 4 should be rejected with "Invalid age"
+    And batch item 5 should be created
+
+  @BatchValidation
+  Scenario: A malformed item rejects the whole batch
+    When I submit the batch '[{"firstName":"John","lastName":"Doe","email":"john@email.com","age":25},{"firstName":'
+    Then the batch should have been rejected as malformed at item 1
+    And the user store should contain 0 users
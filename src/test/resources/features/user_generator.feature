@@ -0,0 +1,15 @@
+@InProcess @GeneratedUsers
+Feature: Seeded User Generator
+  As a test author
+  I want generated populations to be reproducible and to break validation only as declared
+  So that data-driven scenarios can rely on the outcome each generated user expects
+
+  Scenario: The same seed always yields the same users
+    Given 10000 generated users with seed 7 and 50% invalid
+    Then generating them again with seed 7 should yield the same users
+
+  Scenario: Invalid generated users break exactly their declared rule
+    Given 100000 generated users
+    When each generated user is validated in process
+    Then every generated user should have been accepted or rejected as expected
+    And the generated users should have covered every validation rule
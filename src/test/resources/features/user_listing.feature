@@ -0,0 +1,31 @@
+@UserListing
+Feature: User Listing and Export
+  As a client of the user service
+  I want to page through and export large user directories
+  So that I can process every user without loading them all at once
+
+  Background:
+    Given the user service is running
+    And the user directory contains 100000 users
+
+  @Pagination
+  Scenario: Page through the whole user directory
+    When I page through all users with a page size of 1000
+    Then 100000 users should have been received
+    And the users should have been received in order
+
+  @Pagination
+  Scenario Outline: Reject a malformed pagination cursor
+    Then the request for page size 10 with cursor "<cursor>" should fail with status code 400
+
+    Examples:
+      | cursor                              | decoded                    |
+      | not-a-cursor                        | not a cursor               |
+      | b2Zmc2V0Oi01MA                      | offset:-50                 |
+      | b2Zmc2V0OjkyMjMzNzIwMzY4NTQ3NzU4MDc | offset:9223372036854775807 |
+
+  @Export
+  Scenario: Stream the full user directory as NDJSON
+    When I export all users
+    Then 100000 users should have been received
+    And the users should have been received in order
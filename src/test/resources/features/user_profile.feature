@@ -6,7 +6,7 @@ Feature: User Profile Management
 
   Background:
     Given the user service is running
-    And the API is available at "http://localhost:8080"
+    And the API is available at "${baseUrl}"
 
   @CreateUser
   Scenario: Create a new user profile
@@ -57,13 +57,37 @@ Feature: User Profile Management
     Then the request should fail with status code 400
     And the error message should indicate "Invalid email format"
 
+  @ValidationError
+  Scenario: Report every validation error at once
+    When I attempt to create a user with invalid data:
+      | firstName |               |
+      | lastName  | Doe           |
+      | email     | invalid-email |
+      | age       | 200           |
+    Then the request should fail with status code 400
+    And the error message should indicate "First name required"
+    And the error message should indicate "Invalid email format"
+    And the error message should indicate "Invalid age"
+    And the error should be "Validation Error"
+
+  @ValidationError
+  Scenario: Reject a user without an age
+    When I attempt to create a user with invalid data:
+      | firstName | John           |
+      | lastName  | Doe            |
+      | email     | john@email.com |
+      | age       |                |
+    Then the request should fail with status code 400
+    And the error message should indicate "Age required"
+
   @NotFound
   Scenario: Handle non-existent user
     Given the user service is running
-    And the API is available at "http://localhost:8080"
+    And the API is available at "${baseUrl}"
     And a user does not exist with ID "999"
     When I request the user profile for ID "999"
     Then the request should fail with status code 404
+    And the error should be "User not found"
     And the error message should indicate "User with ID 999 does not exist"
 
   @DataDriven